@@ -0,0 +1,47 @@
+//===============================================================
+/*
+ * Artificial Intelligence: Wumpus Project
+ * Full Observability Part
+ * Read-only view of a board
+ */
+//===============================================================
+
+package fullObservability;
+import wumpus.World;
+
+
+//===============================================================
+    /*
+     * interface BoardView:
+     * what the planners read of a board: its size and what each tile holds,
+     * board[col][row] with [0, 0] at the bottom left. A World.Tile[][] is viewed
+     * with of(board); an agent can also implement the view over what it
+     * believes, without building a grid of tiles for every plan.
+     */
+//===============================================================
+public interface BoardView {
+    int getCols();
+
+    int getRows();
+
+    boolean getPit(int col, int row);
+
+    boolean getWumpus(int col, int row);
+
+    boolean getGold(int col, int row);
+
+    /**
+     * Function that views a grid of tiles, later changes to the tiles show through
+     * @param board: the tiles
+     * @return the view
+     */
+    static BoardView of(World.Tile[][] board){
+        return new BoardView() {
+            public int getCols(){ return board.length; }
+            public int getRows(){ return board[0].length; }
+            public boolean getPit(int col, int row){ return board[col][row].getPit(); }
+            public boolean getWumpus(int col, int row){ return board[col][row].getWumpus(); }
+            public boolean getGold(int col, int row){ return board[col][row].getGold(); }
+        };
+    }
+}
@@ -0,0 +1,366 @@
+//===============================================================
+/*
+ * Artificial Intelligence: Wumpus Project
+ * Full Observability Part
+ * D* Lite: incremental replanning on a changing board
+ */
+//===============================================================
+
+package fullObservability;
+import wumpus.Agent.Action;
+import java.util.Arrays;
+import java.util.LinkedList;
+
+
+//===============================================================
+    /*
+     * class DStarLite:
+     * plans from the agent to the closest of a set of goal tiles with D* Lite
+     * (Koenig and Likhachev). The search runs backwards from the goals over the
+     * states (col, row, dir) with the online actions and costs of SearchAI.aStarSearch
+     * on pit-free tiles, so g(s) is the cost from s to the closest goal. Between two
+     * plans the g values are kept: update only puts back on the queue the states whose
+     * successors changed, because a tile got or lost its pit, the board grew or shrank,
+     * or a tile became or stopped being a goal, and plan only repairs what those changes
+     * affect. A moving start is handled with the km offset of the keys, so the queue
+     * never has to be reordered.
+     */
+//===============================================================
+public class DStarLite {
+    private static final int INF = Integer.MAX_VALUE / 2;
+    private static final double KEY_BASE = 1 << 24; // key [k1, k2] is the priority k1*KEY_BASE + k2
+    private static final int[] DCOL = {1, 0, -1, 0}; // 0 - right, 1 - down, 2 - left, 3 - up
+    private static final int[] DROW = {0, -1, 0, 1};
+
+    private int capCols;            // the arrays cover capCols x capRows tiles
+    private int capRows;
+    private int numCols = 0;        // the board, numCols x numRows, is the top left part of them
+    private int numRows = 0;
+    private boolean[] open;         // open[col*capRows + row]: on the board and without a pit
+    private boolean[] goal;
+    private int[] goalCells;        // the cells of the goals, goalCount of them
+    private int goalCount = 0;
+    private int[] mark;             // mark[cell] == update: the cell is a goal of that update
+    private int update = 0;         // number of the current update
+    private int[] g;                // g[(col*capRows + row)*4 + dir]
+    private int[] rhs;
+    private IndexedMinHeap queue;
+    private int km = 0;
+    private int lastStartCol = 0;   // start the keys in the queue were computed from
+    private int lastStartRow = 0;
+    private int[] lastGoal = {-1, -1};
+    private long expanded = 0;      // states taken from the queue, over all plans
+    private long lastExpanded = 0;
+    private long plans = 0;         // number of plans made
+
+    public DStarLite(int capCols, int capRows){
+        allocate(capCols, capRows);
+    }
+
+    /**
+     * Function that forgets the board, the goals and the search, keeping the arrays for the next board
+     */
+    public void reset(){
+        Arrays.fill(open, false);
+        Arrays.fill(goal, false);
+        goalCount = 0;
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        queue.clear();
+        numCols = 0;
+        numRows = 0;
+        km = 0;
+        lastStartCol = 0;
+        lastStartRow = 0;
+        lastGoal = new int[]{-1, -1};
+        expanded = 0;
+        lastExpanded = 0;
+        plans = 0;
+    }
+
+    /**
+     * Function that tells the planner the current board and goals, and queues the states whose
+     * successors changed since the last update
+     * @param board: board where tiles that may not be crossed have a pit
+     * @param goals: tiles to plan to
+     */
+    public void update(BoardView board, Iterable<int[]> goals){
+        int cols = board.getCols();
+        int rows = board.getRows();
+        if(cols > capCols || rows > capRows){
+            allocate(Math.max(cols, 2*capCols), Math.max(rows, 2*capRows));
+        }
+        int oldCols = numCols;
+        int oldRows = numRows;
+        numCols = cols;
+        numRows = rows;
+        for(int col = 0; col < Math.max(cols, oldCols); ++col){
+            for(int row = 0; row < Math.max(rows, oldRows); ++row){
+                int cell = col*capRows + row;
+                boolean isOpen = col < cols && row < rows && !board.getPit(col, row);
+                // tiles next to the old or the new border may turn or move to other tiles than before
+                boolean border = (col >= Math.min(cols, oldCols) - 1 && cols != oldCols) ||
+                        (row >= Math.min(rows, oldRows) - 1 && rows != oldRows);
+                if(isOpen != open[cell] || border){
+                    open[cell] = isOpen;
+                    updateTile(col, row);
+                }
+            }
+        }
+
+        // the goals are diffed against those of the last update, only the tiles that became or
+        // stopped being goals are updated
+        ++update;
+        for(int[] tile: goals){
+            if(tile[0] < cols && tile[1] < rows){
+                int cell = tile[0]*capRows + tile[1];
+                mark[cell] = update;
+                if(!goal[cell]){
+                    goal[cell] = true;
+                    goalCells[goalCount++] = cell;
+                    updateTile(tile[0], tile[1]);
+                }
+            }
+        }
+        for(int i = goalCount - 1; i >= 0; --i){
+            int cell = goalCells[i];
+            if(mark[cell] != update){
+                goal[cell] = false;
+                goalCells[i] = goalCells[--goalCount];
+                updateTile(cell / capRows, cell % capRows);
+            }
+        }
+    }
+
+    /**
+     * Function that plans to the closest goal
+     * @param current: current tile, on the board and without a pit
+     * @param dir: the direction of the agent
+     * @return sequence of actions of how to get from current to the closest goal, CLIMB if none can be reached
+     */
+    public LinkedList<Action> plan(int[] current, int dir){
+        km += manhattan(lastStartCol, lastStartRow, current[0], current[1]);
+        lastStartCol = current[0];
+        lastStartRow = current[1];
+        ++plans;
+        int start = state(current[0], current[1], dir);
+        computeShortestPath(start);
+
+        LinkedList<Action> plan = new LinkedList<Action>();
+        if(g[start] >= INF){
+            lastGoal = new int[]{-1, -1};
+            plan.add(Action.CLIMB);
+            return plan;
+        }
+        // follow the cheapest successors down to a goal
+        int s = start;
+        while(g[s] > 0){
+            int forward = forward(s);
+            int left = turn(s, 3);
+            int right = turn(s, 1);
+            if(forward >= 0 && g[forward] == g[s] - 1){
+                plan.add(Action.FORWARD);
+                s = forward;
+            }
+            else if(left >= 0 && g[left] == g[s] - 1){
+                plan.add(Action.TURN_LEFT);
+                s = left;
+            }
+            else{
+                plan.add(Action.TURN_RIGHT);
+                s = right;
+            }
+        }
+        lastGoal = new int[]{s / 4 / capRows, s / 4 % capRows};
+        return plan;
+    }
+
+    /**
+     * Function that returns the goal reached by the last plan, [-1, -1] if it reached none
+     */
+    public int[] getLastGoal(){
+        return lastGoal;
+    }
+
+    /**
+     * Function that returns how many states the last plan took from the queue
+     */
+    public long getLastExpanded(){
+        return lastExpanded;
+    }
+
+    /**
+     * Function that returns how many plans were made
+     */
+    public long getPlans(){
+        return plans;
+    }
+
+    /**
+     * Function that returns how many states all plans took from the queue
+     */
+    public long getExpanded(){
+        return expanded;
+    }
+
+    private void computeShortestPath(int start){
+        lastExpanded = 0;
+        while(!queue.isEmpty() && (queue.peekPriority() < key(start) || rhs[start] != g[start])){
+            int u = queue.poll();
+            ++lastExpanded;
+            double newKey = key(u);
+            double oldKey = queue.priorityOf(u);
+            if(oldKey < newKey){
+                queue.add(u, newKey);
+            }
+            else if(g[u] > rhs[u]){
+                g[u] = rhs[u];
+                updatePredecessors(u);
+            }
+            else{
+                g[u] = INF;
+                updateVertex(u);
+                updatePredecessors(u);
+            }
+        }
+        expanded += lastExpanded;
+    }
+
+    private void updateVertex(int s){
+        int cell = s / 4;
+        if(!open[cell]){
+            rhs[s] = INF;
+        }
+        else if(goal[cell]){
+            rhs[s] = 0;
+        }
+        else{
+            int best = INF;
+            for(int next: new int[]{forward(s), turn(s, 1), turn(s, 3)}){
+                if(next >= 0 && g[next] + 1 < best){
+                    best = g[next] + 1;
+                }
+            }
+            rhs[s] = best;
+        }
+        if(queue.contains(s)){
+            queue.remove(s);
+        }
+        if(g[s] != rhs[s]){
+            queue.add(s, key(s));
+        }
+    }
+
+    /**
+     * Function that updates the states of a tile that got or lost its pit or its goal, and the states
+     * of the neighbors facing it, which may or may not move into it now
+     */
+    private void updateTile(int col, int row){
+        updateCell(col, row);
+        for(int dir = 0; dir < 4; ++dir){
+            int fromCol = col - DCOL[dir];
+            int fromRow = row - DROW[dir];
+            if(fromCol >= 0 && fromCol < numCols && fromRow >= 0 && fromRow < numRows){
+                updateVertex(state(fromCol, fromRow, dir));
+            }
+        }
+    }
+
+    private void updateCell(int col, int row){
+        for(int dir = 0; dir < 4; ++dir){
+            updateVertex(state(col, row, dir));
+        }
+    }
+
+    /**
+     * Function that updates the states with an action into s: the same tile facing one turn away,
+     * and the tile behind it facing the same way
+     */
+    private void updatePredecessors(int s){
+        int cell = s / 4;
+        int dir = s % 4;
+        int col = cell / capRows;
+        int row = cell % capRows;
+        if(!open[cell]){
+            return;
+        }
+        if(facesBoard(col, row, dir)){
+            updateVertex(state(col, row, (dir + 1) % 4));
+            updateVertex(state(col, row, (dir + 3) % 4));
+        }
+        int fromCol = col - DCOL[dir];
+        int fromRow = row - DROW[dir];
+        if(fromCol >= 0 && fromCol < numCols && fromRow >= 0 && fromRow < numRows && open[fromCol*capRows + fromRow]){
+            updateVertex(state(fromCol, fromRow, dir));
+        }
+    }
+
+    private double key(int s){
+        int m = Math.min(g[s], rhs[s]);
+        int cell = s / 4;
+        return (m + manhattan(lastStartCol, lastStartRow, cell / capRows, cell % capRows) + km) * KEY_BASE + m;
+    }
+
+    private boolean facesBoard(int col, int row, int dir){
+        int nextCol = col + DCOL[dir];
+        int nextRow = row + DROW[dir];
+        return nextCol >= 0 && nextCol < numCols && nextRow >= 0 && nextRow < numRows;
+    }
+
+    /**
+     * Function that returns the state reached by FORWARD, or -1 if the agent cannot move forward
+     */
+    private int forward(int s){
+        int col = s / 4 / capRows;
+        int row = s / 4 % capRows;
+        int dir = s % 4;
+        if(!facesBoard(col, row, dir) || !open[(col + DCOL[dir])*capRows + row + DROW[dir]]){
+            return -1;
+        }
+        return state(col + DCOL[dir], row + DROW[dir], dir);
+    }
+
+    /**
+     * Function that returns the state reached by turning, or -1 if the agent would face the border
+     * @param quarter: 1 for TURN_RIGHT, 3 for TURN_LEFT
+     */
+    private int turn(int s, int quarter){
+        int col = s / 4 / capRows;
+        int row = s / 4 % capRows;
+        int dir = (s % 4 + quarter) % 4;
+        return facesBoard(col, row, dir) ? state(col, row, dir) : -1;
+    }
+
+    private int state(int col, int row, int dir){
+        return (col*capRows + row)*4 + dir;
+    }
+
+    private static int manhattan(int col1, int row1, int col2, int row2){
+        return Math.abs(col1 - col2) + Math.abs(row1 - row2);
+    }
+
+    /**
+     * Function that allocates the arrays for a board of up to cols x rows tiles and forgets
+     * everything planned so far, the next update then queues the whole board
+     */
+    private void allocate(int cols, int rows){
+        capCols = cols;
+        capRows = rows;
+        open = new boolean[cols*rows];
+        goal = new boolean[cols*rows];
+        goalCells = new int[cols*rows];
+        goalCount = 0;
+        mark = new int[cols*rows];
+        update = 0;
+        g = new int[cols*rows*4];
+        rhs = new int[cols*rows*4];
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        queue = new IndexedMinHeap(cols*rows*4);
+        numCols = 0;
+        numRows = 0;
+        km = 0;
+        lastStartCol = 0;
+        lastStartRow = 0;
+    }
+}
@@ -0,0 +1,306 @@
+//===============================================================
+/*
+ * Artificial Intelligence: Wumpus Project
+ * Full Observability Part
+ * Distance field to a fixed destination
+ */
+//===============================================================
+
+package fullObservability;
+import wumpus.Agent.Action;
+import java.util.LinkedList;
+
+
+//===============================================================
+    /*
+     * class DistanceField:
+     * the cost of the cheapest path from every state (col, row, dir) to a fixed
+     * destination tile, under the actions and costs of SearchAI.aStarSearch when the
+     * path only crosses pit-free tiles: FORWARD into a pit-free tile, and turns that
+     * leave the agent facing a tile of the board, all costing 1. It is computed by a
+     * Dijkstra search backwards from the destination. When the board only gains
+     * pit-free tiles, update relaxes from the new tiles instead of starting over, so
+     * an agent whose safe region grows keeps its field, and a plan to the destination
+     * is read off the field in time proportional to its length.
+     */
+//===============================================================
+public class DistanceField {
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int[] DCOL = {1, 0, -1, 0}; // 0 - right, 1 - down, 2 - left, 3 - up
+    private static final int[] DROW = {0, -1, 0, 1};
+
+    private final int destCol;
+    private final int destRow;
+    private int numCols = 0;
+    private int numRows = 0;
+    private boolean[] open = new boolean[0];   // open[col*numRows + row]: the tile has no pit
+    private int[] distance = new int[0];       // distance[(col*numRows + row)*4 + dir]
+    private IndexedMinHeap frontier;
+    private int rebuilds = 0;   // number of updates that started over
+    private int lowered = 0;    // number of times the distance of a state was lowered, over all updates
+
+    public DistanceField(int destCol, int destRow){
+        this.destCol = destCol;
+        this.destRow = destRow;
+    }
+
+    /**
+     * Function that forgets the board, the next update computes the field again as for a new one
+     */
+    public void reset(){
+        numCols = 0;
+        numRows = 0;
+        rebuilds = 0;
+        lowered = 0;
+    }
+
+    /**
+     * Function that brings the field up to date with a board. If the board did not shrink and no
+     * tile got a pit, the distances are lowered from the tiles that changed, otherwise they are
+     * computed again
+     * @param board: board where tiles that may not be crossed have a pit
+     */
+    public void update(BoardView board){
+        int cols = board.getCols();
+        int rows = board.getRows();
+        boolean rebuild = cols < numCols || rows < numRows || numCols == 0;
+        LinkedList<Integer> changed = new LinkedList<Integer>(); // tiles that may have gained successors
+        for(int col = 0; col < numCols && !rebuild; ++col){
+            for(int row = 0; row < numRows; ++row){
+                // a closed tile may cut paths
+                if(board.getPit(col, row) && open[col*numRows + row]){
+                    rebuild = true;
+                    break;
+                }
+                // a tile on the old border can now turn to face the new tiles
+                if(open[col*numRows + row] && ((col == numCols-1 && cols > numCols) ||
+                        (row == numRows-1 && rows > numRows))){
+                    changed.add(col*numRows + row);
+                }
+            }
+        }
+        if(rebuild){
+            rebuild(board);
+            return;
+        }
+        if(cols > numCols || rows > numRows){
+            grow(cols, rows, changed);
+        }
+        for(int col = 0; col < cols; ++col){
+            for(int row = 0; row < rows; ++row){
+                if(!board.getPit(col, row) && !open[col*rows + row]){
+                    // an opened destination has no distances to spread
+                    if(col == destCol && row == destRow){
+                        rebuild(board);
+                        return;
+                    }
+                    open[col*rows + row] = true;
+                    changed.add(col*rows + row);
+                }
+            }
+        }
+        if(changed.isEmpty()){
+            return;
+        }
+        // a changed tile takes its distances from its successors, lower distances then spread backwards
+        frontier.clear();
+        for(int cell: changed){
+            for(int dir = 0; dir < 4; ++dir){
+                int state = cell*4 + dir;
+                int best = bestSuccessor(state);
+                if(best < distance[state]){
+                    distance[state] = best;
+                    push(state);
+                }
+            }
+        }
+        relax();
+    }
+
+    /**
+     * Function that returns the cost of the cheapest path from a state to the destination
+     * @return the cost, or -1 if the destination cannot be reached
+     */
+    public int distance(int col, int row, int dir){
+        if(col >= numCols || row >= numRows){
+            return -1;
+        }
+        int d = distance[(col*numRows + row)*4 + dir];
+        return d == UNREACHABLE ? -1 : d;
+    }
+
+    /**
+     * Function that reads a cheapest plan to the destination off the field
+     * @param current: current tile
+     * @param dir: the direction of the agent
+     * @return sequence of actions of how to get from current to the destination, CLIMB if it cannot be reached
+     */
+    public LinkedList<Action> plan(int[] current, int dir){
+        LinkedList<Action> plan = new LinkedList<Action>();
+        if(distance(current[0], current[1], dir) < 0){
+            plan.add(Action.CLIMB);
+            return plan;
+        }
+        int state = (current[0]*numRows + current[1])*4 + dir;
+        while(distance[state] > 0){
+            int forward = forward(state);
+            int left = turn(state, 3);
+            int right = turn(state, 1);
+            if(forward >= 0 && distance[forward] == distance[state] - 1){
+                plan.add(Action.FORWARD);
+                state = forward;
+            }
+            else if(left >= 0 && distance[left] == distance[state] - 1){
+                plan.add(Action.TURN_LEFT);
+                state = left;
+            }
+            else{
+                plan.add(Action.TURN_RIGHT);
+                state = right;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Function that returns how many updates computed the field from scratch
+     */
+    public int getRebuilds(){
+        return rebuilds;
+    }
+
+    /**
+     * Function that returns how many times the distance of a state was lowered, over all updates
+     */
+    public int getLowered(){
+        return lowered;
+    }
+
+    private void rebuild(BoardView board){
+        numCols = board.getCols();
+        numRows = board.getRows();
+        open = new boolean[numCols*numRows];
+        distance = new int[numCols*numRows*4];
+        frontier = new IndexedMinHeap(distance.length);
+        java.util.Arrays.fill(distance, UNREACHABLE);
+        ++rebuilds;
+        for(int col = 0; col < numCols; ++col){
+            for(int row = 0; row < numRows; ++row){
+                open[col*numRows + row] = !board.getPit(col, row);
+            }
+        }
+        if(destCol >= numCols || destRow >= numRows || !open[destCol*numRows + destRow]){
+            return;
+        }
+        for(int dir = 0; dir < 4; ++dir){
+            int state = (destCol*numRows + destRow)*4 + dir;
+            distance[state] = 0;
+            push(state);
+        }
+        relax();
+    }
+
+    /**
+     * Function that moves the field to a larger board, the new tiles start closed
+     * @param changed: tiles in the old layout, renumbered in place to the new one
+     */
+    private void grow(int cols, int rows, LinkedList<Integer> changed){
+        boolean[] grownOpen = new boolean[cols*rows];
+        int[] grownDistance = new int[cols*rows*4];
+        java.util.Arrays.fill(grownDistance, UNREACHABLE);
+        for(int col = 0; col < numCols; ++col){
+            for(int row = 0; row < numRows; ++row){
+                grownOpen[col*rows + row] = open[col*numRows + row];
+                System.arraycopy(distance, (col*numRows + row)*4, grownDistance, (col*rows + row)*4, 4);
+            }
+        }
+        changed.replaceAll(cell -> cell / numRows * rows + cell % numRows);
+        numCols = cols;
+        numRows = rows;
+        open = grownOpen;
+        distance = grownDistance;
+        frontier = new IndexedMinHeap(distance.length);
+    }
+
+    private void push(int state){
+        ++lowered;
+        if(frontier.contains(state)){
+            frontier.decreaseKey(state, distance[state]);
+        }
+        else{
+            frontier.add(state, distance[state]);
+        }
+    }
+
+    /**
+     * Function that runs Dijkstra backwards: the predecessors of a settled state are
+     * the same tile facing one turn away, and the tile behind it facing the same way
+     */
+    private void relax(){
+        while(!frontier.isEmpty()){
+            int state = frontier.poll();
+            int d = distance[state] + 1;
+            int cell = state / 4;
+            int dir = state % 4;
+            // turning into 'dir' is possible when the agent then faces a tile of the board
+            if(facesBoard(cell, dir)){
+                for(int from: new int[]{(dir + 1) % 4, (dir + 3) % 4}){
+                    int pred = cell*4 + from;
+                    if(d < distance[pred]){
+                        distance[pred] = d;
+                        push(pred);
+                    }
+                }
+            }
+            // moving forward from the tile behind
+            int col = cell / numRows - DCOL[dir];
+            int row = cell % numRows - DROW[dir];
+            if(col >= 0 && col < numCols && row >= 0 && row < numRows && open[col*numRows + row]){
+                int pred = (col*numRows + row)*4 + dir;
+                if(d < distance[pred]){
+                    distance[pred] = d;
+                    push(pred);
+                }
+            }
+        }
+    }
+
+    private int bestSuccessor(int state){
+        int best = UNREACHABLE;
+        for(int next: new int[]{forward(state), turn(state, 1), turn(state, 3)}){
+            if(next >= 0 && distance[next] != UNREACHABLE && distance[next] + 1 < best){
+                best = distance[next] + 1;
+            }
+        }
+        return best;
+    }
+
+    private boolean facesBoard(int cell, int dir){
+        int col = cell / numRows + DCOL[dir];
+        int row = cell % numRows + DROW[dir];
+        return col >= 0 && col < numCols && row >= 0 && row < numRows;
+    }
+
+    /**
+     * Function that returns the state reached by FORWARD, or -1 if the agent cannot move forward
+     */
+    private int forward(int state){
+        int cell = state / 4;
+        int dir = state % 4;
+        if(!facesBoard(cell, dir)){
+            return -1;
+        }
+        int next = (cell / numRows + DCOL[dir])*numRows + cell % numRows + DROW[dir];
+        return open[next] ? next*4 + dir : -1;
+    }
+
+    /**
+     * Function that returns the state reached by turning, or -1 if the agent would face the border
+     * @param quarter: 1 for TURN_RIGHT, 3 for TURN_LEFT
+     */
+    private int turn(int state, int quarter){
+        int cell = state / 4;
+        int dir = (state % 4 + quarter) % 4;
+        return facesBoard(cell, dir) ? cell*4 + dir : -1;
+    }
+}
@@ -0,0 +1,65 @@
+//===============================================================
+/*
+ * Artificial Intelligence: Wumpus Project
+ * Full Observability Part
+ * Heuristics for the A* search
+ */
+//===============================================================
+
+package fullObservability;
+
+
+//===============================================================
+    /*
+     * interface Heuristic:
+     * estimates the cost of getting from a state to the destination tile. A* adds the
+     * estimate of a node to its path cost to order the frontier. All the heuristics
+     * below are admissible, so the plans are optimal. MANHATTAN_TURNS is also
+     * consistent, so explored states never have to be reopened.
+     */
+//===============================================================
+public interface Heuristic {
+    /**
+     * Function that estimates the cost to the destination
+     * @param col: column of the state
+     * @param row: row of the state
+     * @param dir: direction of the agent, 0 - right, 1 - down, 2 - left, 3 - up
+     * @param dest: destination tile
+     * @return estimated cost, never more than the true cost
+     */
+    double estimate(int col, int row, int dir, int[] dest);
+
+    // no estimate, A* becomes uniform cost search
+    Heuristic ZERO = (col, row, dir, dest) -> 0;
+
+    // straight-line distance, ignores that turning costs an action
+    Heuristic EUCLIDEAN = (col, row, dir, dest) -> {
+        double x = row - dest[1];
+        double y = col - dest[0];
+        return Math.sqrt(x*x + y*y);
+    };
+
+    // one FORWARD per tile of Manhattan distance, plus the turns needed to face the
+    // directions the agent still has to move in
+    Heuristic MANHATTAN_TURNS = (col, row, dir, dest) -> {
+        int dx = dest[0] - col;
+        int dy = dest[1] - row;
+        int horizontal = dx > 0 ? 0 : dx < 0 ? 2 : -1; // direction needed along the row, -1 if none
+        int vertical = dy > 0 ? 3 : dy < 0 ? 1 : -1;   // direction needed along the column, -1 if none
+        int turns;
+        if (horizontal < 0 && vertical < 0) {
+            turns = 0;
+        }
+        else if (horizontal < 0 || vertical < 0) {
+            // one direction needed: 0 turns if facing it, 2 if facing away, else 1
+            int needed = Math.max(horizontal, vertical);
+            int apart = Math.abs(dir - needed);
+            turns = apart == 0 ? 0 : apart == 2 ? 2 : 1;
+        }
+        else {
+            // two directions needed: facing one of them, the other is one turn away
+            turns = (dir == horizontal || dir == vertical) ? 1 : 2;
+        }
+        return Math.abs(dx) + Math.abs(dy) + turns;
+    };
+}
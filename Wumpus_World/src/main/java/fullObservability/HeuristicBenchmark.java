@@ -0,0 +1,100 @@
+//===============================================================
+/*
+ * Artificial Intelligence: Wumpus Project
+ * Full Observability Part
+ * Benchmark of the A* heuristics
+ */
+//===============================================================
+
+package fullObservability;
+import wumpus.Agent.Action;
+import wumpus.World;
+import java.io.File;
+import java.util.*;
+
+
+/*
+Usage:
+ HeuristicBenchmark [WorldFolder] [rounds]
+
+ Plans from [0, 0] to the gold of every world in WorldFolder (the generated worlds
+ by default) with each heuristic, and prints per heuristic the expanded, generated
+ and reopened nodes and the peak frontier summed over the worlds, the summed plan
+ cost and the search time. All heuristics are admissible, so the plan costs must
+ be equal; the last column counts the worlds whose plan cost differs from ZERO.
+ */
+
+public class HeuristicBenchmark
+{
+    private static final String[] NAMES = {"ZERO", "EUCLIDEAN", "MANHATTAN_TURNS"};
+    private static final Heuristic[] HEURISTICS = {Heuristic.ZERO, Heuristic.EUCLIDEAN, Heuristic.MANHATTAN_TURNS};
+
+    public static void main(String[] args) throws Exception
+    {
+        File folder = new File(args.length >= 1 ? args[0] : "../Wumpus_World_Generator/Worlds");
+        int rounds = args.length >= 2 ? Integer.parseInt(args[1]) : 20;
+        File[] files = folder.listFiles();
+        if (files == null) {
+            System.out.println("[ERROR] Failed to open directory: " + folder);
+            return;
+        }
+        Arrays.sort(files);
+
+        SearchAI search = new SearchAI();
+        List<World.Tile[][]> boards = new ArrayList<>();
+        for (File file : files) {
+            World.Tile[][] board = new World(false, false, false, true, file).getBoard();
+            int[] gold = search.goldLoc(board);
+            if (!board[gold[0]][gold[1]].getPit())
+                boards.add(board);
+        }
+
+        int[] zeroCost = new int[boards.size()];
+        System.out.printf("%-16s %10s %10s %9s %9s %10s %10s %9s%n", "heuristic", "expanded", "generated",
+                "reopened", "peak", "plan cost", "msec", "cost diff");
+        for (int h = 0; h < HEURISTICS.length; h++) {
+            search.setHeuristic(HEURISTICS[h]);
+            long expanded = 0, generated = 0, reopened = 0, peak = 0, planCost = 0;
+            int costDiff = 0;
+            for (int i = 0; i < boards.size(); i++) {
+                World.Tile[][] board = boards.get(i);
+                LinkedList<Action> plan = search.aStarSearch(board, new int[]{0, 0}, search.goldLoc(board), true, 0,
+                        true);
+                SearchStats stats = search.getLastStats();
+                expanded += stats.getExpanded();
+                generated += stats.getGenerated();
+                reopened += stats.getReopened();
+                peak += stats.getPeakFrontier();
+                int cost = cost(plan);
+                planCost += cost;
+                if (h == 0)
+                    zeroCost[i] = cost;
+                else if (cost != zeroCost[i])
+                    costDiff++;
+            }
+            // time the searches separately, after the counting pass has warmed them up
+            long start = System.nanoTime();
+            for (int round = 0; round < rounds; round++)
+                for (World.Tile[][] board : boards)
+                    search.aStarSearch(board, new int[]{0, 0}, search.goldLoc(board), true, 0, true);
+            double msec = (System.nanoTime() - start) / 1e6 / rounds;
+            System.out.printf("%-16s %10d %10d %9d %9d %10d %10.2f %9d%n", NAMES[h], expanded, generated, reopened,
+                    peak, planCost, msec, costDiff);
+        }
+    }
+
+    /**
+     * Function that computes the cost of the searched part of a plan, up to the GRAB,
+     * the way the search costs it: 11 for a shot, 1 for everything else
+     */
+    private static int cost(LinkedList<Action> plan)
+    {
+        int cost = 0;
+        for (Action action : plan) {
+            if (action == Action.GRAB)
+                break;
+            cost += action == Action.SHOOT ? 11 : 1;
+        }
+        return cost;
+    }
+}
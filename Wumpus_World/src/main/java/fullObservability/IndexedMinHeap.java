@@ -0,0 +1,184 @@
+//===============================================================
+/*
+ * Artificial Intelligence: Wumpus Project
+ * Full Observability Part
+ * Indexed binary min-heap used as the A* frontier
+ */
+//===============================================================
+
+package fullObservability;
+
+
+//===============================================================
+    /*
+     * class IndexedMinHeap:
+     * a binary min-heap over the integers 0..capacity-1 (search states).
+     * Every state has at most one entry, its position in the heap is indexed,
+     * so membership is O(1) and a better path updates the existing entry with
+     * decreaseKey instead of pushing a duplicate. Equal priorities are served
+     * in insertion order, which keeps the search deterministic.
+     */
+//===============================================================
+public class IndexedMinHeap {
+    private final int[] heap;       // heap[i] = state at heap position i
+    private final int[] position;   // position[state] = heap position, or -1 if not in the heap
+    private final double[] priority;
+    private final long[] order;     // insertion stamp, breaks ties between equal priorities
+    private int size = 0;
+    private long stamp = 0;
+
+    public IndexedMinHeap(int capacity){
+        heap = new int[capacity];
+        position = new int[capacity];
+        priority = new double[capacity];
+        order = new long[capacity];
+        java.util.Arrays.fill(position, -1);
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public boolean contains(int state){
+        return position[state] >= 0;
+    }
+
+    public double priorityOf(int state){
+        return priority[state];
+    }
+
+    /**
+     * Function that inserts a state which is not in the heap
+     * @param state: the state
+     * @param p: its priority
+     */
+    public void add(int state, double p){
+        priority[state] = p;
+        order[state] = stamp++;
+        heap[size] = state;
+        position[state] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Function that lowers the priority of a state in the heap
+     * @param state: the state
+     * @param p: new priority, not larger than the current one
+     */
+    public void decreaseKey(int state, double p){
+        priority[state] = p;
+        siftUp(position[state]);
+    }
+
+    /**
+     * Function that changes the priority of a state in the heap, up or down
+     * @param state: the state
+     * @param p: new priority
+     */
+    public void update(int state, double p){
+        double old = priority[state];
+        priority[state] = p;
+        if(p < old){
+            siftUp(position[state]);
+        }
+        else{
+            siftDown(position[state]);
+        }
+    }
+
+    /**
+     * Function that removes a state from the heap
+     * @param state: the state, which must be in the heap
+     */
+    public void remove(int state){
+        int i = position[state];
+        position[state] = -1;
+        if(--size > i){
+            int moved = heap[size];
+            heap[i] = moved;
+            position[moved] = i;
+            siftDown(i);
+            siftUp(position[moved]);
+        }
+    }
+
+    /**
+     * Function that returns the lowest priority in the heap, the heap must not be empty
+     */
+    public double peekPriority(){
+        return priority[heap[0]];
+    }
+
+    /**
+     * Function that removes and returns the state with the lowest priority
+     * @return the state
+     */
+    public int poll(){
+        int top = heap[0];
+        position[top] = -1;
+        if(--size > 0){
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Function that empties the heap, in time proportional to its size
+     */
+    public void clear(){
+        for(int i = 0; i < size; i++){
+            position[heap[i]] = -1;
+        }
+        size = 0;
+        stamp = 0;
+    }
+
+    private boolean less(int a, int b){
+        if(priority[a] != priority[b]){
+            return priority[a] < priority[b];
+        }
+        return order[a] < order[b];
+    }
+
+    private void siftUp(int i){
+        int state = heap[i];
+        while(i > 0){
+            int parent = (i - 1) >>> 1;
+            if(!less(state, heap[parent])){
+                break;
+            }
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = state;
+        position[state] = i;
+    }
+
+    private void siftDown(int i){
+        int state = heap[i];
+        while(true){
+            int child = 2*i + 1;
+            if(child >= size){
+                break;
+            }
+            if(child + 1 < size && less(heap[child + 1], heap[child])){
+                child++;
+            }
+            if(!less(heap[child], state)){
+                break;
+            }
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = state;
+        position[state] = i;
+    }
+}
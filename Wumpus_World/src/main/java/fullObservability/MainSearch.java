@@ -1,6 +1,8 @@
 package fullObservability;
 
+import wumpus.FolderEvaluator;
 import wumpus.World;
+import wumpus.WorldLayout;
 
 import java.io.BufferedWriter;
 import java.io.File;
@@ -33,6 +35,8 @@ public class MainSearch
 		boolean randomAI     = false;
 		boolean manualAI      = false;
 		boolean folder       = false;
+		boolean parallel     = false;
+		int		workers      = 0;
 		String	worldFile    = "";
 		String	outputFile   = "";
 
@@ -78,6 +82,13 @@ public class MainSearch
 						verbose = true;
 						break;
 						
+					case 'p':
+					case 'P':
+						parallel = true;
+						while ( index+1 < firstToken.length() && Character.isDigit(firstToken.charAt(index+1)) )
+							workers = workers*10 + (firstToken.charAt(++index) - '0');
+						break;
+						
 					case 'r':
 					case 'R':
 						randomAI = true;
@@ -107,6 +118,8 @@ public class MainSearch
 						System.out.println ( "\t   display the average score and standard" );
 						System.out.println ( "\t   deviation instead of a single score. InputFile" );
 						System.out.println ( "\t   must be entered with this option." );
+						System.out.println ( "\t-p Evaluates the worlds of -f in parallel. The" );
+						System.out.println ( "\t   number of workers may follow, e.g. -fp4." );
 						System.out.println ( );
 						System.out.println ( "InputFile: A path to a valid Wumpus World File, or" );
 						System.out.println ( "           folder with -f. This is optional unless" );
@@ -176,6 +189,20 @@ public class MainSearch
 			long startTime,totalTime,elapsedTime;
 			totalTime=0;
 
+			if ( parallel && ( debug || manualAI ) )
+			{
+				parallel = false;
+				System.out.println ( "[WARNING] Debug and manual play are interactive; running worlds sequentially." );
+			}
+
+			// In parallel mode all worlds are run up front, the loop below then
+			// reports them in folder order exactly like the sequential path
+			FolderEvaluator.Result[] results = null;
+			long wallStart = System.currentTimeMillis();
+			if ( parallel )
+				results = FolderEvaluator.evaluate ( listOfWorlds, workers, randomAI, manualAI, search );
+			World world = null;	// played the previous world, reset for the next one
+
 			for ( int worldIndex = 0; worldIndex < listOfWorlds.length; worldIndex++ )
 			{
 				if ( verbose )
@@ -184,10 +211,22 @@ public class MainSearch
 				int score = 0;
 				try
 				{
-					startTime = System.currentTimeMillis();
-					World world = new World( debug, randomAI, manualAI, search, listOfWorlds[worldIndex] );
-					score = world.run();
-					elapsedTime = System.currentTimeMillis()-startTime;
+					if ( results != null )
+					{
+						score = results[worldIndex].getScore();
+						elapsedTime = results[worldIndex].getElapsedTime();
+					}
+					else
+					{
+						startTime = System.currentTimeMillis();
+						WorldLayout layout = WorldLayout.read ( listOfWorlds[worldIndex] );
+						if ( world == null )
+							world = new World( debug, randomAI, manualAI, search, layout, null );
+						else
+							world.reset ( layout );
+						score = world.run();
+						elapsedTime = System.currentTimeMillis()-startTime;
+					}
 				}
 				catch ( Exception e )
 				{
@@ -210,6 +249,8 @@ public class MainSearch
 				System.out.println ( "The agent's average score: " + avg );
 				System.out.println ( "The agent's standard deviation: " + std_dev );
 				System.out.println ("Total time in msec: " + totalTime);
+				if ( parallel )
+					System.out.println ("Wall time in msec: " + (System.currentTimeMillis()-wallStart));
 			}
 			else
 			{
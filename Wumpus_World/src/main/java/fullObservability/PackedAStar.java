@@ -0,0 +1,225 @@
+//===============================================================
+/*
+ * Artificial Intelligence: Wumpus Project
+ * Full Observability Part
+ * A* on packed integer states
+ */
+//===============================================================
+
+package fullObservability;
+import wumpus.Agent.Action;
+import java.util.ArrayList;
+import java.util.LinkedList;
+
+
+//===============================================================
+    /*
+     * class PackedAStar:
+     * the A* search of SearchAI without Node objects. A state (col, row, dir, hasArrow)
+     * is the int SearchAI.stateIndex, and path cost, parent and action of every state
+     * live in arrays indexed by it. The arrays and the frontier are allocated once and
+     * reused by later searches on boards of the same or a smaller size, so expanding
+     * a node allocates nothing. Successors are generated in the order of
+     * availableActions and costed like stateTransition, so the plans are the same as
+     * those of SearchAI.aStarSearch.
+     */
+//===============================================================
+public class PackedAStar {
+    private static final Action[] ACTIONS = Action.values();
+    private static final byte TURN_LEFT = (byte) Action.TURN_LEFT.ordinal();
+    private static final byte TURN_RIGHT = (byte) Action.TURN_RIGHT.ordinal();
+    private static final byte FORWARD = (byte) Action.FORWARD.ordinal();
+    private static final byte SHOOT = (byte) Action.SHOOT.ordinal();
+    private static final byte GRAB = (byte) Action.GRAB.ordinal();
+    private static final byte CLIMB = (byte) Action.CLIMB.ordinal();
+
+    private IndexedMinHeap frontier;
+    private double[] pathCost;
+    private int[] parent;
+    private byte[] action;
+    private int[] closed;       // closed[state] == search means explored in the current search
+    private int search = 0;     // number of the current search
+    private final byte[] successors = new byte[3]; // actions available in the expanded state
+
+    /**
+     * Function that implements A* search on packed states, see SearchAI.aStarSearch
+     * @param board view of the board
+     * @param current: current tile
+     * @param dest: destination tile
+     * @param hasArrow: whether the agent has an arrow
+     * @param dir: the direction of the agent
+     * @param offline: indicate whether in searching offline or not
+     * @param planner: the SearchAI that turns the found path into a plan
+     * @param heuristic: estimate of the cost to dest
+     * @param stats: counters of the search, reset by the caller
+     * @return sequence of actions of how to get from current to dest
+     */
+    public LinkedList<Action> aStarSearch(BoardView board, int[] current, int[] dest, boolean hasArrow,
+                                          int dir, boolean offline, SearchAI planner, Heuristic heuristic,
+                                          SearchStats stats) {
+        int numCols = board.getCols();
+        int numRows = board.getRows();
+        ensureCapacity(SearchAI.stateCount(numCols, numRows));
+        frontier.clear();
+        ++search;
+
+        int root = pack(current[0], current[1], dir, hasArrow, numRows);
+        pathCost[root] = 0;
+        parent[root] = -1;
+        action[root] = CLIMB;
+        frontier.add(root, heuristic.estimate(current[0], current[1], dir, dest));
+        stats.frontierSize(1);
+
+        while (!frontier.isEmpty()) {
+            int state = frontier.poll();
+            int col = state / 8 / numRows;
+            int row = state / 8 % numRows;
+            int agentDir = state / 2 % 4;
+            boolean arrow = (state & 1) == 1;
+            if (col == dest[0] && row == dest[1]) {
+                return createPlan(state, offline, planner);
+            }
+            closed[state] = search;
+            ++stats.expanded;
+
+            int count = availableActions(board, col, row, agentDir, arrow, action[state], offline, numCols, numRows);
+            for (int i = 0; i < count; i++) {
+                byte act = successors[i];
+                int nextCol = col;
+                int nextRow = row;
+                int nextDir = agentDir;
+                boolean nextArrow = arrow;
+                int cost = 1;
+                if (act == FORWARD) {
+                    switch (agentDir) {
+                        case 0 -> ++nextCol;
+                        case 1 -> --nextRow;
+                        case 2 -> --nextCol;
+                        case 3 -> ++nextRow;
+                    }
+                }
+                else if (act == TURN_LEFT) {
+                    nextDir = (agentDir + 3) % 4;
+                }
+                else if (act == TURN_RIGHT) {
+                    nextDir = (agentDir + 1) % 4;
+                }
+                else if (act == SHOOT) {
+                    nextArrow = false;
+                    if (arrow) {
+                        cost = 11;
+                    }
+                }
+                int child = pack(nextCol, nextRow, nextDir, nextArrow, numRows);
+                double childCost = pathCost[state] + cost;
+                double estimate = childCost + heuristic.estimate(nextCol, nextRow, nextDir, dest);
+                ++stats.generated;
+
+                // if child in frontier but better path is found, update its entry
+                if (frontier.contains(child)) {
+                    if (frontier.priorityOf(child) > estimate) {
+                        record(child, state, act, childCost);
+                        frontier.decreaseKey(child, estimate);
+                    }
+                }
+                // if child not in any of explored or frontier, or explored by a more expensive path
+                else if (closed[child] != search || pathCost[child] > childCost) {
+                    if (closed[child] == search) {
+                        closed[child] = 0;
+                        ++stats.reopened;
+                    }
+                    record(child, state, act, childCost);
+                    frontier.add(child, estimate);
+                    stats.frontierSize(frontier.size());
+                }
+            }
+        }
+        // if frontier is empty, then failed to retrieve gold, so Climb out
+        LinkedList<Action> plan = new LinkedList<Action>();
+        plan.add(Action.CLIMB);
+        return plan;
+    }
+
+    /**
+     * Function that writes the actions available in a state into 'successors', in the order of
+     * SearchAI.availableActions
+     * @return number of actions
+     */
+    private int availableActions(BoardView board, int col, int row, int agentDir, boolean arrow,
+                                 byte lastAction, boolean offline, int numCols, int numRows) {
+        // if current tile has gold, then grab is only action
+        if (board.getGold(col, row)) {
+            successors[0] = GRAB;
+            return 1;
+        }
+        int count = 0;
+        int nextCol = col;
+        int nextRow = row;
+        boolean canMove = false;
+        byte firstTurn = TURN_RIGHT;
+        boolean first = false;
+        boolean second = false;
+        switch (agentDir) {
+            case 0 -> { canMove = col != numCols-1; nextCol = col+1;
+                        firstTurn = TURN_RIGHT; first = row != 0; second = row != numRows-1; }
+            case 1 -> { canMove = row != 0; nextRow = row-1;
+                        firstTurn = TURN_RIGHT; first = col != 0; second = col != numCols-1; }
+            case 2 -> { canMove = col != 0; nextCol = col-1;
+                        firstTurn = TURN_LEFT; first = row != 0; second = row != numRows-1; }
+            case 3 -> { canMove = row != numRows-1; nextRow = row+1;
+                        firstTurn = TURN_LEFT; first = col != 0; second = col != numCols-1; }
+        }
+        if (canMove) {
+            if (board.getPit(nextCol, nextRow)) {
+                ;
+            }
+            else if (board.getWumpus(nextCol, nextRow) && arrow) {
+                successors[count++] = SHOOT;
+            }
+            else {
+                successors[count++] = FORWARD;
+            }
+        }
+        // no turn right after a turn when planning offline, it returns the agent back to where it has been
+        if (offline && (lastAction == TURN_LEFT || lastAction == TURN_RIGHT)) {
+            return count;
+        }
+        if (first) {
+            successors[count++] = firstTurn;
+        }
+        if (second) {
+            successors[count++] = firstTurn == TURN_RIGHT ? TURN_LEFT : TURN_RIGHT;
+        }
+        return count;
+    }
+
+    private void record(int state, int from, byte act, double cost) {
+        pathCost[state] = cost;
+        parent[state] = from;
+        action[state] = act;
+    }
+
+    private LinkedList<Action> createPlan(int goal, boolean offline, SearchAI planner) {
+        ArrayList<Action> helper = new ArrayList<Action>();
+        for (int state = goal; parent[state] >= 0; state = parent[state]) {
+            helper.add(ACTIONS[action[state]]);
+        }
+        return planner.createPlan(helper, new LinkedList<Action>(), offline);
+    }
+
+    private static int pack(int col, int row, int dir, boolean hasArrow, int numRows) {
+        return ((col * numRows + row) * 4 + dir) * 2 + (hasArrow ? 1 : 0);
+    }
+
+    private void ensureCapacity(int numStates) {
+        if (frontier != null && pathCost.length >= numStates) {
+            return;
+        }
+        frontier = new IndexedMinHeap(numStates);
+        pathCost = new double[numStates];
+        parent = new int[numStates];
+        action = new byte[numStates];
+        closed = new int[numStates];
+        search = 0;
+    }
+}
@@ -14,6 +14,9 @@ import java.util.*;
 
 public class SearchAI extends Agent {
     private ListIterator<Action> planIterator;
+    private PackedAStar packedSearch; // if set, aStarSearch runs on packed states
+    private Heuristic heuristic = Heuristic.MANHATTAN_TURNS; // estimate of the cost to the destination
+    private final SearchStats stats = new SearchStats(); // counters of the last search
 
 
 //===============================================================
@@ -119,13 +122,22 @@ public class SearchAI extends Agent {
      * @return array containing gold location
      */
     public int[] goldLoc(World.Tile[][] board){
+        return goldLoc(BoardView.of(board));
+    }
+
+    /**
+     * Function that finds and returns the location of the gold
+     * @param board: view of the game board
+     * @return array containing gold location
+     */
+    public int[] goldLoc(BoardView board){
         // function that takes a tile board as input and returns the location of the gold
-        int numCols = board.length;
-        int numRows = board[0].length;
+        int numCols = board.getCols();
+        int numRows = board.getRows();
 
         for(int r = 0; r < numRows; r++){
             for(int c = 0; c < numCols; c++){
-                if(board[c][r].getGold()){
+                if(board.getGold(c, r)){
                     return new int[]{c, r};
                 }
             }
@@ -146,6 +158,17 @@ public class SearchAI extends Agent {
             helper.add(goalNode.getAction());
             goalNode = goalNode.getParent();
         }
+        return createPlan(helper, plan, offline);
+    }
+
+    /**
+     * Function that creates a plan from the actions leading to a goal node
+     * @param helper the actions from the goal node back to the root, i.e. in reverse order
+     * @param plan an empty LinkedList
+     * @param offline: indicate whether in searching offline or not
+     * @return plan sequence of actions that leads to the goal
+     */
+    public LinkedList<Action> createPlan(List<Action> helper, LinkedList<Action> plan, boolean offline){
         for(int i = helper.size() - 1; i >= 0; i--){
             plan.add(helper.get(i));
         }
@@ -182,16 +205,14 @@ public class SearchAI extends Agent {
     }
 
     /**
-     * Function that finds the euclidean distance between two nodes
-     * @param current current tile
-     * @param goldLoc location of gold
-     * @return Euclidean distance between current node and gold node
+     * Function that estimates the cost from a node to the destination, using the heuristic set by setHeuristic
+     * @param current current node
+     * @param dest destination tile
+     * @return estimated cost, A* orders the frontier by path cost plus this estimate
      */
-    public double heuristic(Node current, int[] goldLoc){
+    public double heuristic(Node current, int[] dest){
         int[] currentState = current.getState();
-        double x = currentState[1] - goldLoc[1];
-        double y = currentState[0] - goldLoc[0];
-        return Math.sqrt(x*x + y*y);
+        return heuristic.estimate(currentState[0], currentState[1], current.getAgentDir(), dest);
     }
 
 
@@ -208,10 +229,10 @@ public class SearchAI extends Agent {
      * @param offline: indicate whether in searching offline or not
      * @return actions the agent is allowed to perform
      */
-    public LinkedList<Action> availableActions(Node current, World.Tile[][] board, boolean offline){
+    public LinkedList<Action> availableActions(Node current, BoardView board, boolean offline){
         LinkedList<Action> actions = new LinkedList<Action>();
-        int numCols = board.length;
-        int numRows = board[0].length;
+        int numCols = board.getCols();
+        int numRows = board.getRows();
         int col = current.getState()[0];
         int row = current.getState()[1];
         int agentDir = current.getAgentDir();
@@ -219,17 +240,17 @@ public class SearchAI extends Agent {
         Action lastAction = current.getAction();
 
         // if current tile has gold, then grab is only action
-        if (board[col][row].getGold()) {
+        if (board.getGold(col, row)) {
             actions.add(Action.GRAB);
             return actions;
         }
         switch (agentDir){
             case 0:
                 if(col != numCols-1) {
-                    if (board[col + 1][row].getPit()) {
+                    if (board.getPit(col + 1, row)) {
                         ;
                     }
-                    else if (board[col + 1][row].getWumpus()) {
+                    else if (board.getWumpus(col + 1, row)) {
                         if(!hasArrow){
                             actions.add(Action.FORWARD);
                         }
@@ -248,10 +269,10 @@ public class SearchAI extends Agent {
                 break;
             case 1:
                 if(row != 0){
-                    if(board[col][row-1].getPit()){
+                    if(board.getPit(col, row-1)){
                         ;
                     }
-                    else if(board[col][row-1].getWumpus()){
+                    else if(board.getWumpus(col, row-1)){
                         if(!hasArrow){
                             actions.add(Action.FORWARD);
                         }
@@ -270,10 +291,10 @@ public class SearchAI extends Agent {
                 break;
             case 2:
                 if(col != 0){
-                    if(board[col-1][row].getPit()){
+                    if(board.getPit(col-1, row)){
                         ;
                     }
-                    else if(board[col-1][row].getWumpus()){
+                    else if(board.getWumpus(col-1, row)){
                         if(!hasArrow){
                             actions.add(Action.FORWARD);
                         }
@@ -292,10 +313,10 @@ public class SearchAI extends Agent {
                 break;
             case 3:
                 if(row != numRows-1){
-                    if(board[col][row+1].getPit()){
+                    if(board.getPit(col, row+1)){
                         ;
                     }
-                    else if(board[col][row+1].getWumpus()){
+                    else if(board.getWumpus(col, row+1)){
                         if(!hasArrow){
                             actions.add(Action.FORWARD);
                         }
@@ -334,17 +355,16 @@ public class SearchAI extends Agent {
      * @param current: current node
      * @param board: game board
      * @param action: the performed action
-     * @param goldLoc: location of gold
      * @return resulting state
      */
-    public Node stateTransition(Node current, Action action, World.Tile[][] board, int[] goldLoc){
+    public Node stateTransition(Node current, Action action, BoardView board){
         int currentCol = current.getState()[0];
         int currentRow = current.getState()[1];
         int nextCol = 0;
         int nextRow = 0;
         int nextAgentDir = current.getAgentDir();
         boolean hasArrow = current.hasArrow();
-        double pathCost = current.getPathCost() + actionCost(current, action, board) + heuristic(current, goldLoc);
+        double pathCost = current.getPathCost() + actionCost(current, action, board);
         int agentDir = current.getAgentDir();
 
         switch (agentDir){
@@ -481,7 +501,7 @@ public class SearchAI extends Agent {
      * @param board: game board
      * @return cost
      */
-    public int actionCost(Node current, Action action, World.Tile[][] board){
+    public int actionCost(Node current, Action action, BoardView board){
         int cost = 0;
         switch (action){
             case FORWARD, TURN_LEFT, TURN_RIGHT, GRAB -> {
@@ -517,40 +537,76 @@ public class SearchAI extends Agent {
     */
     public LinkedList<Action> aStarSearch(World.Tile[][] board, int[] current, int[] dest, boolean hasArrow,
                                           int dir, boolean offline) {
+        return aStarSearch(BoardView.of(board), current, dest, hasArrow, dir, offline);
+    }
+
+    /**
+     * Function that implements A* search
+     * @param board view of the board
+     * @param current: current tile
+     * @param dest: destination tile
+     * @param hasArrow: whether the agent has an arrow
+     * @param dir: the direction of the agent
+     * @param offline: indicate whether in searching offline or not
+     * @return sequence of actions of how to get from current to dest
+    */
+    public LinkedList<Action> aStarSearch(BoardView board, int[] current, int[] dest, boolean hasArrow,
+                                          int dir, boolean offline) {
+        stats.reset();
+        if (packedSearch != null) {
+            return packedSearch.aStarSearch(board, current, dest, hasArrow, dir, offline, this, heuristic, stats);
+        }
         LinkedList<Action> plan = new LinkedList<Action>(); // list for actions
-        PriorityQueue<Node> frontier = new PriorityQueue<Node>(); // priority queue for the unexplored nodes
-        Hashtable<Node, Double> frontierTable = new Hashtable<Node, Double>(); // dictionary to retrieve nodes easily
-        HashSet<Node> explored = new HashSet<Node>(); // hashset for the explored nodes
+        int numRows = board.getRows();
+        int numStates = stateCount(board.getCols(), numRows);
+        IndexedMinHeap frontier = new IndexedMinHeap(numStates); // unexplored states by path cost + heuristic
+        Node[] frontierNodes = new Node[numStates]; // the best node found so far for each state in the frontier
+        boolean[] explored = new boolean[numStates]; // the explored states
+        double[] exploredCost = new double[numStates]; // path cost of each explored state when it was explored
 
         Node root = new Node(current, null, Action.CLIMB, 0, dir, hasArrow); // root node
-        frontier.add(root); //initialize frontier
-        frontierTable.put(root, root.getPathCost());
+        int rootIndex = stateIndex(root, numRows);
+        frontier.add(rootIndex, heuristic(root, dest)); //initialize frontier
+        frontierNodes[rootIndex] = root;
+        stats.frontierSize(1);
 
-        while (frontier.size() > 0) {
+        while (!frontier.isEmpty()) {
             // poll first node
-            Node toExplore = frontier.poll();
+            int index = frontier.poll();
+            Node toExplore = frontierNodes[index];
+            frontierNodes[index] = null;
             // goalTest
             if (goalTest(toExplore, dest)) {
                 plan = createPlan(toExplore, plan, offline);
                 return plan;
             }
             // add node to explored
-            explored.add(toExplore);
+            explored[index] = true;
+            exploredCost[index] = toExplore.getPathCost();
+            ++stats.expanded;
             LinkedList<Action> availableActions = availableActions(toExplore, board, offline);
             for(Action action: availableActions){
-                Node child = stateTransition(toExplore, action, board, dest);
-                // if child not in any of explored or frontier
-                if(!frontier.contains(child) && !explored.contains(child)){
-                    frontier.add(child);
-                    frontierTable.put(child, child.getPathCost());
+                Node child = stateTransition(toExplore, action, board);
+                int childIndex = stateIndex(child, numRows);
+                double estimate = child.getPathCost() + heuristic(child, dest);
+                ++stats.generated;
+                // if child in frontier but better path is found, update its entry
+                if(frontier.contains(childIndex)){
+                    if(frontier.priorityOf(childIndex) > estimate){
+                        frontier.decreaseKey(childIndex, estimate);
+                        frontierNodes[childIndex] = child;
+                    }
                 }
-                // else if child in frontier but better path is found
-                else if(frontier.contains(child)){
-                    double oldPathCost = frontierTable.get(child);
-                    if(oldPathCost > child.getPathCost()){
-                        frontier.add(child);
-                        frontierTable.put(child, child.getPathCost());
+                // if child not in any of explored or frontier, or explored by a more expensive path
+                // (which only happens with an inconsistent heuristic)
+                else if(!explored[childIndex] || exploredCost[childIndex] > child.getPathCost()){
+                    if(explored[childIndex]){
+                        explored[childIndex] = false;
+                        ++stats.reopened;
                     }
+                    frontier.add(childIndex, estimate);
+                    frontierNodes[childIndex] = child;
+                    stats.frontierSize(frontier.size());
                 }
             }
         }
@@ -558,6 +614,51 @@ public class SearchAI extends Agent {
         plan.add(Action.CLIMB);
         return plan;
     }
+
+    /**
+     * Function that returns the number of search states of a board
+     * @param numCols: number of columns
+     * @param numRows: number of rows
+     * @return number of (col, row, direction, hasArrow) combinations
+     */
+    public static int stateCount(int numCols, int numRows){
+        return numCols * numRows * 8;
+    }
+
+    /**
+     * Function that maps the state of a node to a dense index
+     * @param node: a node
+     * @param numRows: number of rows of the board
+     * @return index in 0..stateCount-1
+     */
+    public static int stateIndex(Node node, int numRows){
+        int[] state = node.getState();
+        return ((state[0] * numRows + state[1]) * 4 + node.getAgentDir()) * 2 + (node.hasArrow() ? 1 : 0);
+    }
+
+    /**
+     * Function that switches aStarSearch between Node objects and packed integer states.
+     * Both return the same plans; the packed search allocates nothing per expansion
+     * @param packed: true to search on packed states
+     */
+    public void setPackedSearch(boolean packed){
+        packedSearch = packed ? new PackedAStar() : null;
+    }
+
+    /**
+     * Function that sets the heuristic of aStarSearch, MANHATTAN_TURNS by default
+     * @param heuristic: the heuristic
+     */
+    public void setHeuristic(Heuristic heuristic){
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Function that returns the counters of the last aStarSearch, they are overwritten by the next search
+     */
+    public SearchStats getLastStats(){
+        return stats;
+    }
     public SearchAI(){
 
     }
@@ -569,6 +670,16 @@ public class SearchAI extends Agent {
      */
 //===============================================================
     public SearchAI(World.Tile[][] board) {
+        reset(board);
+    }
+
+    /**
+     * Function that prepares the agent for another world: the plan is made again for the new board,
+     * the search settings and its reusable structures are kept
+     * @param board: the game board
+     * @return true, the agent can always be reset with a board
+     */
+    public boolean reset(World.Tile[][] board) {
 
         /* The world is board[column][row] with initial position (bottom left) being board[0][0] */
         LinkedList<Action> plan = new LinkedList<Action>();
@@ -588,6 +699,7 @@ public class SearchAI extends Agent {
         // This must be the last instruction.
         //System.out.println("The plan: " + plan);
         planIterator = plan.listIterator();
+        return true;
     }
 
 //===============================================================
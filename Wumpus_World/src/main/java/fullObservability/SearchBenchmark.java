@@ -0,0 +1,182 @@
+//===============================================================
+/*
+ * Artificial Intelligence: Wumpus Project
+ * Full Observability Part
+ * Benchmark of the A* frontier
+ */
+//===============================================================
+
+package fullObservability;
+import wumpus.Agent.Action;
+import wumpus.World;
+import java.util.*;
+
+
+/*
+Usage:
+ SearchBenchmark [boards_per_size]
+
+ Plans from [0, 0] to the gold on random boards of 4x4 up to 256x256, built like
+ World builds its random worlds (20% pits, one wumpus, one gold), and prints the
+ expansions per second of aStarSearch on Node objects, of the packed search and of
+ the former PriorityQueue frontier, the bytes the packed search allocates per
+ expansion, and on how many boards the packed search returned the same plan.
+ The former frontier scans the queue for every successor, so it is only run up to
+ LEGACY_MAX_SIZE.
+ */
+
+public class SearchBenchmark
+{
+    private static final int[] SIZES = {4, 8, 16, 32, 64, 128, 256};
+    private static final int LEGACY_MAX_SIZE = 64;
+
+    public static void main(String[] args)
+    {
+        int boardsPerSize = args.length >= 1 ? Integer.parseInt(args[0]) : 20;
+        Random rand = new Random(1);
+        SearchAI search = new SearchAI();
+        SearchAI packed = new SearchAI();
+        packed.setPackedSearch(true);
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        System.out.printf("%-9s %14s %14s %12s %10s %14s %10s%n", "board", "indexed exp/s", "packed exp/s",
+                "packed B/exp", "same plan", "legacy exp/s", "same cost");
+        for (int size : SIZES) {
+            List<World.Tile[][]> boards = new ArrayList<>();
+            while (boards.size() < boardsPerSize) {
+                World.Tile[][] board = randomBoard(size, rand);
+                int[] gold = search.goldLoc(board);
+                if (!board[gold[0]][gold[1]].getPit())
+                    boards.add(board);
+            }
+            // warm up
+            for (World.Tile[][] board : boards) {
+                search.aStarSearch(board, new int[]{0, 0}, search.goldLoc(board), true, 0, true);
+                packed.aStarSearch(board, new int[]{0, 0}, search.goldLoc(board), true, 0, true);
+            }
+
+            long expanded = 0;
+            long start = System.nanoTime();
+            List<LinkedList<Action>> plans = new ArrayList<>();
+            for (World.Tile[][] board : boards) {
+                plans.add(search.aStarSearch(board, new int[]{0, 0}, search.goldLoc(board), true, 0, true));
+                expanded += search.getLastStats().getExpanded();
+            }
+            double indexedRate = expanded / ((System.nanoTime() - start) / 1e9);
+
+            long packedExpanded = 0;
+            long packedBytes = 0;
+            int samePlan = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < boards.size(); i++) {
+                World.Tile[][] board = boards.get(i);
+                int[] gold = search.goldLoc(board);
+                int[] origin = {0, 0};
+                long before = threads.getThreadAllocatedBytes(thread);
+                LinkedList<Action> plan = packed.aStarSearch(board, origin, gold, true, 0, true);
+                packedBytes += threads.getThreadAllocatedBytes(thread) - before;
+                packedExpanded += packed.getLastStats().getExpanded();
+                if (plan.equals(plans.get(i)))
+                    samePlan++;
+            }
+            double packedRate = packedExpanded / ((System.nanoTime() - start) / 1e9);
+
+            String legacy = "-";
+            String sameCost = "-";
+            if (size <= LEGACY_MAX_SIZE) {
+                long legacyExpanded = 0;
+                int same = 0;
+                start = System.nanoTime();
+                for (int i = 0; i < boards.size(); i++) {
+                    World.Tile[][] board = boards.get(i);
+                    long[] counter = new long[1];
+                    LinkedList<Action> plan = legacyAStarSearch(search, board, search.goldLoc(board), counter);
+                    legacyExpanded += counter[0];
+                    if (cost(plan) == cost(plans.get(i)))
+                        same++;
+                }
+                legacy = String.format("%.0f", legacyExpanded / ((System.nanoTime() - start) / 1e9));
+                sameCost = same + "/" + boards.size();
+            }
+            System.out.printf("%-9s %14.0f %14.0f %12.2f %10s %14s %10s%n", size + "x" + size, indexedRate, packedRate,
+                    (double) packedBytes / packedExpanded, samePlan + "/" + boards.size(), legacy, sameCost);
+        }
+    }
+
+    /**
+     * Function that generates a random board like World does
+     * @param size: number of columns and rows
+     * @param rand: random generator
+     * @return the board
+     */
+    private static World.Tile[][] randomBoard(int size, Random rand)
+    {
+        World.Tile[][] board = new World.Tile[size][size];
+        for (int c = 0; c < size; c++)
+            for (int r = 0; r < size; r++) {
+                board[c][r] = new World.Tile();
+                if ((c != 0 || r != 0) && rand.nextInt(10) < 2)
+                    board[c][r].setPit();
+            }
+        int wc, wr, gc, gr;
+        do { wc = rand.nextInt(size); wr = rand.nextInt(size); } while (wc == 0 && wr == 0);
+        do { gc = rand.nextInt(size); gr = rand.nextInt(size); } while (gc == 0 && gr == 0);
+        board[wc][wr].setWumpus();
+        board[gc][gr].setGold();
+        return board;
+    }
+
+    private static int cost(LinkedList<Action> plan)
+    {
+        int cost = 0;
+        for (Action action : plan)
+            cost += action == Action.SHOOT ? 11 : 1;
+        return cost;
+    }
+
+    /**
+     * The A* loop as it was before the indexed frontier: a PriorityQueue with a linear
+     * contains() and duplicate entries instead of decrease-key, ordered by path cost plus
+     * the heuristic of the search
+     */
+    private static LinkedList<Action> legacyAStarSearch(SearchAI search, World.Tile[][] tiles, int[] dest,
+                                                        long[] expanded)
+    {
+        BoardView board = BoardView.of(tiles);
+        LinkedList<Action> plan = new LinkedList<Action>();
+        PriorityQueue<SearchAI.Node> frontier = new PriorityQueue<SearchAI.Node>(
+                Comparator.comparingDouble(n -> n.getPathCost() + search.heuristic(n, dest)));
+        Hashtable<SearchAI.Node, Double> frontierTable = new Hashtable<SearchAI.Node, Double>();
+        HashSet<SearchAI.Node> explored = new HashSet<SearchAI.Node>();
+
+        SearchAI.Node root = search.new Node(new int[]{0, 0}, null, Action.CLIMB, 0, 0, true);
+        frontier.add(root);
+        frontierTable.put(root, root.getPathCost());
+
+        while (frontier.size() > 0) {
+            SearchAI.Node toExplore = frontier.poll();
+            if (search.goalTest(toExplore, dest))
+                return search.createPlan(toExplore, plan, true);
+            explored.add(toExplore);
+            expanded[0]++;
+            for (Action action : search.availableActions(toExplore, board, true)) {
+                SearchAI.Node child = search.stateTransition(toExplore, action, board);
+                if (!frontier.contains(child) && !explored.contains(child)) {
+                    frontier.add(child);
+                    frontierTable.put(child, child.getPathCost());
+                }
+                else if (frontier.contains(child)) {
+                    double oldPathCost = frontierTable.get(child);
+                    if (oldPathCost > child.getPathCost()) {
+                        frontier.add(child);
+                        frontierTable.put(child, child.getPathCost());
+                    }
+                }
+            }
+        }
+        plan.add(Action.CLIMB);
+        return plan;
+    }
+}
@@ -0,0 +1,61 @@
+//===============================================================
+/*
+ * Artificial Intelligence: Wumpus Project
+ * Full Observability Part
+ * Counters of an A* search
+ */
+//===============================================================
+
+package fullObservability;
+
+
+//===============================================================
+    /*
+     * class SearchStats:
+     * what one aStarSearch did. Expanded nodes are nodes taken from the frontier
+     * and not the goal, generated nodes are the successors created while expanding,
+     * reopenings are explored states put back on the frontier because a cheaper
+     * path to them was found, and the peak frontier is the largest frontier size.
+     */
+//===============================================================
+public class SearchStats {
+    int expanded;
+    int generated;
+    int reopened;
+    int peakFrontier;
+
+    void reset(){
+        expanded = 0;
+        generated = 0;
+        reopened = 0;
+        peakFrontier = 0;
+    }
+
+    void frontierSize(int size){
+        if(size > peakFrontier){
+            peakFrontier = size;
+        }
+    }
+
+    public int getExpanded(){
+        return expanded;
+    }
+
+    public int getGenerated(){
+        return generated;
+    }
+
+    public int getReopened(){
+        return reopened;
+    }
+
+    public int getPeakFrontier(){
+        return peakFrontier;
+    }
+
+    @Override
+    public String toString(){
+        return "[SearchStats: expanded=" + expanded + ", generated=" + generated + ", reopened=" + reopened +
+                ", peakFrontier=" + peakFrontier + "]";
+    }
+}
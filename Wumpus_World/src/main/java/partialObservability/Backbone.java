@@ -0,0 +1,126 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * The literals entailed by the knowledge base
+	 */
+//===============================================================
+
+package partialObservability;
+import java.util.BitSet;
+
+
+//===============================================================
+	/*
+	 * class Backbone:
+	 * the backbone of a knowledge base over a scope of its variables, i.e. every
+	 * literal over the scope true in all of its models. It is computed in one pass
+	 * when the agent needs it, and KB |= l is then a lookup instead of a SAT call.
+	 * A knowledge base without models entails every literal.
+	 */
+//===============================================================
+public class Backbone {
+	private final BitSet scope;   // the variables covered
+	private final BitSet positive = new BitSet(); // variables entailed true
+	private final BitSet negative = new BitSet(); // variables entailed false
+	private boolean inconsistent = false;
+
+	/**
+	 * @param numVars: the backbone covers variables 1..numVars
+	 */
+	public Backbone(int numVars){
+		scope = new BitSet(numVars + 1);
+		scope.set(1, numVars + 1);
+	}
+
+	/**
+	 * @param scope: the variables the backbone covers
+	 */
+	public Backbone(BitSet scope){
+		this.scope = (BitSet) scope.clone();
+	}
+
+	/**
+	 * Function that records an entailed literal
+	 * @param literal: a variable, negative if negated
+	 */
+	void add(int literal){
+		(literal > 0 ? positive : negative).set(Math.abs(literal));
+	}
+
+	/**
+	 * Function that records the literals of another backbone over the scope of this one
+	 * @param other: literals known to be entailed
+	 */
+	void addAll(Backbone other){
+		BitSet known = (BitSet) other.positive.clone();
+		known.and(scope);
+		positive.or(known);
+		known = (BitSet) other.negative.clone();
+		known.and(scope);
+		negative.or(known);
+		inconsistent |= other.inconsistent;
+	}
+
+	/**
+	 * Function that records that the knowledge base has no models, so it entails every literal
+	 */
+	void markInconsistent(){
+		inconsistent = true;
+	}
+
+	/**
+	 * Function that checks whether the knowledge base entails a literal
+	 * @param literal: a variable of the scope, negative if negated
+	 * @return true if the literal is in the backbone
+	 */
+	public boolean entails(int literal){
+		if(!covers(Math.abs(literal))){
+			throw new IllegalArgumentException("variable " + Math.abs(literal) + " is not covered by the backbone");
+		}
+		return inconsistent || (literal > 0 ? positive : negative).get(Math.abs(literal));
+	}
+
+	public boolean isInconsistent(){
+		return inconsistent;
+	}
+
+	public boolean covers(int var){
+		return scope.get(var);
+	}
+
+	/**
+	 * Function that checks whether the backbone covers every variable of a scope
+	 */
+	public boolean covers(BitSet vars){
+		BitSet missing = (BitSet) vars.clone();
+		missing.andNot(scope);
+		return missing.isEmpty();
+	}
+
+	/**
+	 * Function that returns the covered variables, ascending
+	 */
+	public int[] variables(){
+		return scope.stream().toArray();
+	}
+
+	/**
+	 * Function that returns the largest covered variable, 0 if the scope is empty
+	 */
+	public int lastVariable(){
+		return Math.max(0, scope.length() - 1);
+	}
+
+	/**
+	 * Function that returns the number of entailed literals
+	 */
+	public int size(){
+		return inconsistent ? 2*scope.cardinality() : positive.cardinality() + negative.cardinality();
+	}
+
+	@Override
+	public String toString(){
+		return "[Backbone: true=" + positive + ", false=" + negative + "]";
+	}
+}
@@ -0,0 +1,65 @@
+package partialObservability;
+
+// DESCRIPTION: Compares the reasoning backends of MyAI's knowledge base. For
+//              each backend, MyAI plays every world of a folder with
+//              propagation switched off, so that every query and backbone is
+//              solved by the backend. The benchmark reports the mean time of
+//              an action, the SAT solves and the SAT time of an episode, and
+//              the number of worlds where a backend takes other actions than
+//              the first one, which must be 0: the program ends with status 1
+//              otherwise.
+//
+//              Syntax:
+//
+//                	BackendBenchmark WorldFolder [Repetitions] [Backend ...]
+//
+//              The backends are SAT4J, CDCL, TWEETY and AUTO, all of them by
+//              default. The folder is played once per backend to warm up the
+//              JIT, then Repetitions times (default 3) for the measurement.
+// ======================================================================
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BackendBenchmark
+{
+	public static void main ( String[] args ) throws Exception
+	{
+		if ( args.length == 0 )
+		{
+			System.out.println ( "BackendBenchmark WorldFolder [Repetitions] [Backend ...]" );
+			return;
+		}
+
+		File[] worlds = FolderRun.worlds ( args[0] );
+		if ( worlds == null )
+			return;
+		int repetitions = args.length >= 2 ? Integer.parseInt ( args[1] ) : 3;
+		List<ReasoningBackend.Kind> kinds = new ArrayList<>();
+		for ( int i = 2; i < args.length; ++i )
+			kinds.add ( ReasoningBackend.Kind.valueOf ( args[i].toUpperCase() ) );
+		if ( kinds.isEmpty() )
+			kinds.addAll ( Arrays.asList ( ReasoningBackend.Kind.values() ) );
+
+		FolderRun reference = null;
+		int differing = 0;
+		for ( ReasoningBackend.Kind kind : kinds )
+		{
+			FolderRun run = FolderRun.play ( worlds, repetitions,
+					( ) -> FolderRun.satOnly ( new MyAI ( Cardinality.Encoding.PAIRWISE, kind ) ) );
+			if ( reference == null )
+				reference = run;
+			int other = run.differing ( reference );
+			differing += other;
+
+			System.out.println ( kind + ":" );
+			System.out.printf ( "\taction time (mean): %.1f usec%n", run.nanos / 1000.0 / Math.max ( 1, run.actions ) );
+			System.out.println ( "\tSAT solves per episode (mean): " + run.satQueries / run.episodes );
+			System.out.printf ( "\tSAT time per episode (mean): %.2f msec%n", run.satNanos / 1e6 / run.episodes );
+			System.out.println ( "\tworlds with other actions than " + kinds.get(0) + ": " + other );
+		}
+		FolderRun.exitIfDiffering ( differing );
+	}
+}
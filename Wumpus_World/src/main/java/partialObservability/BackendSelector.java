@@ -0,0 +1,122 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * A backend that picks its solver by how hard the knowledge base is
+	 */
+//===============================================================
+
+package partialObservability;
+import java.util.ArrayList;
+
+
+//===============================================================
+	/*
+	 * class BackendSelector:
+	 * the AUTO backend. The CdclSolver of this package has almost no setup and
+	 * solves the agent's knowledge base in about half the time Sat4j takes, a
+	 * few conflicts per query, but its simple heuristics fall behind Sat4j on
+	 * hard formulas, where solves run into thousands of conflicts. The selector
+	 * starts on CDCL and keeps the told clauses; once the solver has met more
+	 * than SWITCH_CONFLICTS conflicts it moves to a SatSession, tells it the kept
+	 * clauses and drops them. Tweety is never picked, it is only a reference.
+	 */
+//===============================================================
+public class BackendSelector implements ReasoningBackend {
+	static final int SWITCH_CONFLICTS = 10000; // conflicts above which the knowledge base moves to Sat4j
+	private ReasoningBackend backend;
+	private CdclBackend cdcl;       // the backend until the move, null after it
+	private ArrayList<int[]> clauses = new ArrayList<>(); // the told clauses, null once on Sat4j
+	private int queryCount = 0;     // counters of the CDCL backend once dropped
+	private int modelHits = 0;
+	private long queryNanos = 0;
+
+	/**
+	 * @param numVars: number of variables, the literals used are in -numVars..numVars
+	 */
+	public BackendSelector(int numVars){
+		backend = cdcl = new CdclBackend(numVars);
+	}
+
+	@Override
+	public int newVariables(int count){
+		return backend.newVariables(count);
+	}
+
+	@Override
+	public void addClause(int... literals){
+		backend.addClause(literals);
+		if(clauses != null){
+			clauses.add(literals.clone());
+		}
+	}
+
+	@Override
+	public boolean entails(int literal){
+		boolean answer = backend.entails(literal);
+		select();
+		return answer;
+	}
+
+	@Override
+	public void backbone(Backbone backbone){
+		backend.backbone(backbone);
+		select();
+	}
+
+	/**
+	 * Function that moves the knowledge base to Sat4j once CDCL has met too many conflicts
+	 */
+	private void select(){
+		if(cdcl == null || cdcl.getConflictCount() <= SWITCH_CONFLICTS){
+			return;
+		}
+		SatSession session = new SatSession(cdcl.getVariableCount());
+		for(int[] clause: clauses){
+			session.addClause(clause);
+		}
+		queryCount += cdcl.getQueryCount();
+		modelHits += cdcl.getModelHits();
+		queryNanos += cdcl.getQueryNanos();
+		backend = session;
+		cdcl = null;
+		clauses = null;
+	}
+
+	@Override
+	public boolean isConsistent(){
+		return backend.isConsistent();
+	}
+
+	/**
+	 * Function that returns whether the knowledge base moved to Sat4j
+	 */
+	public boolean onSat4j(){
+		return cdcl == null;
+	}
+
+	@Override
+	public int getVariableCount(){
+		return backend.getVariableCount();
+	}
+
+	@Override
+	public int getClauseCount(){
+		return backend.getClauseCount();
+	}
+
+	@Override
+	public int getQueryCount(){
+		return queryCount + backend.getQueryCount();
+	}
+
+	@Override
+	public int getModelHits(){
+		return modelHits + backend.getModelHits();
+	}
+
+	@Override
+	public long getQueryNanos(){
+		return queryNanos + backend.getQueryNanos();
+	}
+}
@@ -0,0 +1,98 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * The board as the agent believes it to be
+	 */
+//===============================================================
+
+package partialObservability;
+import fullObservability.BoardView;
+
+
+//===============================================================
+	/*
+	 * class BeliefBoard:
+	 * the board MyAI plans on: every tile not known to be safe holds a pit. It is a
+	 * view of the agent's set of safe tiles, so it is up to date as soon as a tile is
+	 * found safe or dropped at a border, and no grid is built for a plan. On top of
+	 * that, a plan may mark one tile as the wumpus to shoot, and open one non-safe
+	 * tile to risk a move into it; reset clears both marks.
+	 */
+//===============================================================
+public class BeliefBoard implements BoardView {
+	private final TileSet safe;
+	private int cols;
+	private int rows;
+	private int wumpusCol = -1; // tile marked as the wumpus, -1 if none
+	private int wumpusRow = -1;
+	private int openedCol = -1; // non-safe tile opened for a risky move, -1 if none
+	private int openedRow = -1;
+
+	/**
+	 * @param safe: the agent's safe tiles, read on every query
+	 */
+	public BeliefBoard(TileSet safe){
+		this.safe = safe;
+	}
+
+	/**
+	 * Function that sets the believed size of the board and clears the marks
+	 * @param cols: number of columns
+	 * @param rows: number of rows
+	 */
+	public void reset(int cols, int rows){
+		this.cols = cols;
+		this.rows = rows;
+		wumpusCol = wumpusRow = -1;
+		openedCol = openedRow = -1;
+	}
+
+	/**
+	 * Function that marks a tile as the wumpus to shoot, it is then free of pits
+	 */
+	public void markWumpus(int col, int row){
+		wumpusCol = col;
+		wumpusRow = row;
+	}
+
+	/**
+	 * Function that opens a non-safe tile, it is then free of pits until close is called
+	 */
+	public void open(int col, int row){
+		openedCol = col;
+		openedRow = row;
+	}
+
+	public void close(){
+		openedCol = openedRow = -1;
+	}
+
+	@Override
+	public int getCols(){
+		return cols;
+	}
+
+	@Override
+	public int getRows(){
+		return rows;
+	}
+
+	@Override
+	public boolean getPit(int col, int row){
+		if((col == wumpusCol && row == wumpusRow) || (col == openedCol && row == openedRow)){
+			return false;
+		}
+		return !safe.contains(col, row);
+	}
+
+	@Override
+	public boolean getWumpus(int col, int row){
+		return col == wumpusCol && row == wumpusRow;
+	}
+
+	@Override
+	public boolean getGold(int col, int row){
+		return false;
+	}
+}
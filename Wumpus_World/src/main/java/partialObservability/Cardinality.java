@@ -0,0 +1,93 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * Clause encodings of "at most one of these variables is true"
+	 */
+//===============================================================
+
+package partialObservability;
+
+
+//===============================================================
+	/*
+	 * class Cardinality:
+	 * PAIRWISE writes not x_i v not x_j for every pair, n(n-1)/2 clauses and no extra variables.
+	 * SEQUENTIAL is the sequential counter of Sinz (2005): n-1 auxiliary variables s_i,
+	 * where s_i means "one of x_1..x_i is true", and 3n-4 clauses.
+	 */
+//===============================================================
+public class Cardinality {
+	public enum Encoding {
+		PAIRWISE,
+		SEQUENTIAL
+	}
+
+	/**
+	 * Function that adds the clauses of "at most one of vars is true" to a knowledge base
+	 * @param KB: the knowledge base
+	 * @param vars: the variables
+	 * @param encoding: the encoding to use
+	 */
+	public static void atMostOne(ReasoningBackend KB, int[] vars, Encoding encoding){
+		switch (encoding){
+			case PAIRWISE:
+				pairwise(KB, vars);
+				break;
+			case SEQUENTIAL:
+				sequential(KB, vars);
+				break;
+		}
+	}
+
+	/**
+	 * Function that returns how many clauses atMostOne adds
+	 * @param n: number of variables
+	 * @param encoding: the encoding
+	 */
+	public static int clauseCount(int n, Encoding encoding){
+		if(n < 2){
+			return 0;
+		}
+		return encoding == Encoding.PAIRWISE ? n*(n-1)/2 : 3*n-4;
+	}
+
+	/**
+	 * Function that returns how many auxiliary variables atMostOne adds
+	 * @param n: number of variables
+	 * @param encoding: the encoding
+	 */
+	public static int auxiliaryCount(int n, Encoding encoding){
+		if(n < 2){
+			return 0;
+		}
+		return encoding == Encoding.PAIRWISE ? 0 : n-1;
+	}
+
+	private static void pairwise(ReasoningBackend KB, int[] vars){
+		for(int i = 0; i < vars.length; ++i){
+			for(int j = i+1; j < vars.length; ++j){
+				KB.addClause(-vars[i], -vars[j]);
+			}
+		}
+	}
+
+	private static void sequential(ReasoningBackend KB, int[] vars){
+		int n = vars.length;
+		if(n < 2){
+			return;
+		}
+		int s = KB.newVariables(n-1) - 1; // s+i is the counter variable s_i, i = 1..n-1
+
+		// x_1 -> s_1
+		KB.addClause(-vars[0], s+1);
+		for(int i = 2; i < n; ++i){
+			// x_i -> s_i, s_(i-1) -> s_i, and not both x_i and s_(i-1)
+			KB.addClause(-vars[i-1], s+i);
+			KB.addClause(-(s+i-1), s+i);
+			KB.addClause(-vars[i-1], -(s+i-1));
+		}
+		// not both x_n and s_(n-1)
+		KB.addClause(-vars[n-1], -(s+n-1));
+	}
+}
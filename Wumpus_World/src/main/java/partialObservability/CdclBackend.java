@@ -0,0 +1,67 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * The knowledge base on the solver of this package
+	 */
+//===============================================================
+
+package partialObservability;
+
+
+//===============================================================
+	/*
+	 * class CdclBackend:
+	 * the CDCL backend, a knowledge base in one CdclSolver for a whole episode.
+	 * The queries, the backbone and the cache of models are those of
+	 * ModelCachingBackend.
+	 */
+//===============================================================
+public class CdclBackend extends ModelCachingBackend {
+	private final CdclSolver solver;
+	private final int[] assumption = new int[1]; // reused buffer for the query literal
+	private final int[] none = new int[0];
+
+	/**
+	 * @param numVars: number of variables, the literals used are in -numVars..numVars
+	 */
+	public CdclBackend(int numVars){
+		super(numVars);
+		solver = new CdclSolver(numVars);
+	}
+
+	@Override
+	protected void allocate(int numVars){
+		solver.grow(numVars);
+	}
+
+	@Override
+	protected boolean tell(int[] literals){
+		return solver.addClause(literals);
+	}
+
+	@Override
+	protected boolean solve(int literal, boolean positivePhase){
+		if(literal == 0){
+			return solver.solve(none, positivePhase);
+		}
+		assumption[0] = literal;
+		return solver.solve(assumption, positivePhase);
+	}
+
+	@Override
+	protected boolean value(int var){
+		return solver.model(var);
+	}
+
+	/**
+	 * Function that returns how many clauses the solver learnt from conflicts
+	 */
+	public int getLearntCount(){
+		return solver.getLearntCount();
+	}
+
+	public int getConflictCount(){
+		return solver.getConflictCount();
+	}
+}
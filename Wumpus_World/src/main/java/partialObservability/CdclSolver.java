@@ -0,0 +1,403 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * A small incremental CDCL SAT solver on integer literals
+	 */
+//===============================================================
+
+package partialObservability;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+
+//===============================================================
+	/*
+	 * class CdclSolver:
+	 * conflict-driven clause learning for the few hundred variables of the
+	 * agent's knowledge base, without the setup of a general solver. Literals are
+	 * the integers of PropTable. Two watched literals per clause drive unit
+	 * propagation, a conflict is analysed to its first unique implication point
+	 * and the learnt clause is kept for the later solves, the next variable to
+	 * decide is the unassigned one of highest activity (VSIDS) and it takes the
+	 * value it had last (phase saving). Assumptions are decided first, as in
+	 * MiniSat, so a solve under an assumption leaves the clauses unchanged and
+	 * the learnt clauses are valid for every later solve. Between solves the
+	 * solver is at decision level 0, where clauses are added.
+	 */
+//===============================================================
+public class CdclSolver {
+	private int numVars;
+	private byte[] assigns = new byte[1];       // assigns[var]: 1 true, -1 false, 0 unassigned
+	private int[] level = new int[1];           // decision level of an assigned variable
+	private int[] reason = new int[1];          // clause that implied the variable, its literal 0 is the variable's, -1 for a decision
+	private boolean[] phase = new boolean[1];   // the value a variable had last
+	private double[] activity = new double[1];
+	private double bump = 1.0;
+	private boolean[] seen = new boolean[1];    // marks of conflict analysis
+	private int[] trail = new int[0];   // the assigned literals, in order
+	private int trailSize = 0;
+	private int propagated = 0;         // trail[0..propagated) are propagated
+	private int[] levelStart = new int[0]; // levelStart[d-1]: trail size when decision level d started
+	private int decisionLevel = 0;
+	private final ArrayList<int[]> clauses = new ArrayList<>(); // told and learnt clauses with two literals or more
+	private int[][] watches = new int[0][]; // watches[code(l)]: the clauses watching l, they are visited when l gets false
+	private int[] watchCount = new int[0];
+	private boolean inconsistent = false;
+	private boolean[] model = new boolean[1];
+	private int learnt = 0;
+	private int conflicts = 0;
+	private static final double DECAY = 1 / 0.95;
+	private static final int RESTART_FIRST = 100;   // conflicts before the first restart, the next ones wait 1.5 times longer
+
+	/**
+	 * @param numVars: number of variables, the literals used are in -numVars..numVars
+	 */
+	public CdclSolver(int numVars){
+		grow(numVars);
+	}
+
+	/**
+	 * Function that makes the solver hold variables 1..numVars
+	 */
+	public void grow(int numVars){
+		if(numVars <= this.numVars){
+			return;
+		}
+		this.numVars = numVars;
+		assigns = Arrays.copyOf(assigns, numVars + 1);
+		level = Arrays.copyOf(level, numVars + 1);
+		reason = Arrays.copyOf(reason, numVars + 1);
+		phase = Arrays.copyOf(phase, numVars + 1);
+		activity = Arrays.copyOf(activity, numVars + 1);
+		seen = new boolean[numVars + 1];
+		trail = Arrays.copyOf(trail, numVars);
+		int oldCodes = watches.length;
+		watches = Arrays.copyOf(watches, 2*numVars + 2);
+		watchCount = Arrays.copyOf(watchCount, 2*numVars + 2);
+		for(int code = oldCodes; code < watches.length; ++code){
+			watches[code] = new int[4];
+		}
+	}
+
+	/**
+	 * Function that adds a clause, duplicate literals and literals false at level 0 are dropped
+	 * @param literals: the clause, a negative literal is a negated variable
+	 * @return false if the clauses are found contradictory
+	 */
+	public boolean addClause(int... literals){
+		if(inconsistent){
+			return false;
+		}
+		int[] clause = new int[literals.length];
+		int size = 0;
+		for(int literal: literals){
+			int value = valueOf(literal);
+			if(value > 0 && level[Math.abs(literal)] == 0){
+				return true;    // satisfied for good
+			}
+			if(value < 0 && level[Math.abs(literal)] == 0){
+				continue;
+			}
+			boolean duplicate = false;
+			for(int i = 0; i < size; ++i){
+				if(clause[i] == -literal){
+					return true;    // a tautology
+				}
+				duplicate |= clause[i] == literal;
+			}
+			if(!duplicate){
+				clause[size++] = literal;
+			}
+		}
+		if(size == 0){
+			inconsistent = true;
+		}
+		else if(size == 1){
+			assign(clause[0], -1);
+			inconsistent = propagate() >= 0;
+		}
+		else{
+			attach(Arrays.copyOf(clause, size));
+		}
+		return !inconsistent;
+	}
+
+	/**
+	 * Function that searches a model of the clauses
+	 * @param assumptions: literals the model must satisfy, they are not added to the clauses
+	 * @param positivePhase: true to decide every variable true first, false to use its saved phase
+	 * @return true if there is a model, read it with model
+	 */
+	public boolean solve(int[] assumptions, boolean positivePhase){
+		if(inconsistent){
+			return false;
+		}
+		int restartAt = conflicts + RESTART_FIRST;
+		int restartGap = RESTART_FIRST;
+		while(true){
+			int conflict = propagate();
+			if(conflict >= 0){
+				++conflicts;
+				if(decisionLevel == 0){
+					inconsistent = true;
+					return false;
+				}
+				learn(conflict);
+				bump *= DECAY;
+				if(bump > 1e100){
+					rescale();
+				}
+				continue;
+			}
+			if(conflicts >= restartAt){
+				restartGap += restartGap / 2;
+				restartAt = conflicts + restartGap;
+				cancelUntil(0);
+				continue;
+			}
+			if(decisionLevel < assumptions.length){
+				int assumption = assumptions[decisionLevel];
+				int value = valueOf(assumption);
+				if(value < 0){
+					cancelUntil(0);
+					return false;
+				}
+				newDecisionLevel();
+				if(value == 0){
+					assign(assumption, -1);
+				}
+				continue;
+			}
+			int var = pickBranch();
+			if(var == 0){
+				if(model.length != numVars + 1){
+					model = new boolean[numVars + 1];
+				}
+				for(int v = 1; v <= numVars; ++v){
+					model[v] = assigns[v] > 0;
+				}
+				cancelUntil(0);
+				return true;
+			}
+			newDecisionLevel();
+			assign(positivePhase || phase[var] ? var : -var, -1);
+		}
+	}
+
+	/**
+	 * Function that returns the value of a variable in the model of the last successful solve
+	 */
+	public boolean model(int var){
+		return model[var];
+	}
+
+	/**
+	 * Function that propagates the assigned literals to fixpoint
+	 * @return the index of a falsified clause, -1 if there is none
+	 */
+	private int propagate(){
+		while(propagated < trailSize){
+			int falsified = -trail[propagated++];
+			int code = code(falsified);
+			int[] watching = watches[code];
+			int count = watchCount[code];
+			int kept = 0;
+			int i = 0;
+			while(i < count){
+				int index = watching[i++];
+				int[] clause = clauses.get(index);
+				if(clause[0] == falsified){
+					clause[0] = clause[1];
+					clause[1] = falsified;
+				}
+				if(valueOf(clause[0]) > 0){
+					watching[kept++] = index;
+					continue;
+				}
+				boolean moved = false;
+				for(int k = 2; k < clause.length; ++k){
+					if(valueOf(clause[k]) >= 0){
+						clause[1] = clause[k];
+						clause[k] = falsified;
+						watch(clause[1], index);
+						moved = true;
+						break;
+					}
+				}
+				if(moved){
+					continue;
+				}
+				watching[kept++] = index;
+				if(valueOf(clause[0]) < 0){
+					while(i < count){
+						watching[kept++] = watching[i++];
+					}
+					watchCount[code] = kept;
+					return index;
+				}
+				assign(clause[0], index);
+			}
+			watchCount[code] = kept;
+		}
+		return -1;
+	}
+
+	/**
+	 * Function that learns the first-UIP clause of a conflict and jumps back to where it is unit
+	 */
+	private void learn(int conflict){
+		int[] clause = new int[numVars + 1];
+		int size = 1;   // clause[0] is the asserting literal, set at the end
+		int open = 0;   // literals of the current level still to resolve
+		int literal = 0;
+		int index = trailSize - 1;
+		int[] reasonClause = clauses.get(conflict);
+		do {
+			for(int k = literal == 0 ? 0 : 1; k < reasonClause.length; ++k){
+				int var = Math.abs(reasonClause[k]);
+				if(!seen[var] && level[var] > 0){
+					seen[var] = true;
+					bumpActivity(var);
+					if(level[var] >= decisionLevel){
+						++open;
+					}
+					else{
+						clause[size++] = reasonClause[k];
+					}
+				}
+			}
+			while(!seen[Math.abs(trail[index])]){
+				--index;
+			}
+			literal = trail[index--];
+			seen[Math.abs(literal)] = false;
+			--open;
+			if(open > 0){
+				reasonClause = clauses.get(reason[Math.abs(literal)]);
+			}
+		} while(open > 0);
+		clause[0] = -literal;
+		int backLevel = 0;
+		for(int k = 1; k < size; ++k){
+			seen[Math.abs(clause[k])] = false;
+			if(level[Math.abs(clause[k])] > backLevel){
+				backLevel = level[Math.abs(clause[k])];
+				int swap = clause[1];
+				clause[1] = clause[k];
+				clause[k] = swap;
+			}
+		}
+		cancelUntil(backLevel);
+		if(size == 1){
+			assign(clause[0], -1);
+		}
+		else{
+			++learnt;
+			assign(clause[0], attach(Arrays.copyOf(clause, size)));
+		}
+	}
+
+	private int attach(int[] clause){
+		int index = clauses.size();
+		clauses.add(clause);
+		watch(clause[0], index);
+		watch(clause[1], index);
+		return index;
+	}
+
+	private void watch(int literal, int index){
+		int code = code(literal);
+		if(watchCount[code] == watches[code].length){
+			watches[code] = Arrays.copyOf(watches[code], 2*watchCount[code]);
+		}
+		watches[code][watchCount[code]++] = index;
+	}
+
+	/**
+	 * Function that returns the unassigned variable of highest activity, 0 if every variable is assigned
+	 */
+	private int pickBranch(){
+		int best = 0;
+		for(int var = 1; var <= numVars; ++var){
+			if(assigns[var] == 0 && (best == 0 || activity[var] > activity[best])){
+				best = var;
+			}
+		}
+		return best;
+	}
+
+	private void bumpActivity(int var){
+		activity[var] += bump;
+		if(activity[var] > 1e100){
+			rescale();
+		}
+	}
+
+	private void rescale(){
+		for(int var = 1; var <= numVars; ++var){
+			activity[var] *= 1e-100;
+		}
+		bump *= 1e-100;
+	}
+
+	private void assign(int literal, int from){
+		int var = Math.abs(literal);
+		assigns[var] = (byte) (literal > 0 ? 1 : -1);
+		level[var] = decisionLevel;
+		reason[var] = from;
+		trail[trailSize++] = literal;
+	}
+
+	private void newDecisionLevel(){
+		if(decisionLevel == levelStart.length){
+			levelStart = Arrays.copyOf(levelStart, 2*decisionLevel + 1);
+		}
+		levelStart[decisionLevel++] = trailSize;
+	}
+
+	/**
+	 * Function that undoes the assignments above a decision level, saving their phase
+	 */
+	private void cancelUntil(int target){
+		if(decisionLevel <= target){
+			return;
+		}
+		int start = levelStart[target];
+		for(int i = trailSize - 1; i >= start; --i){
+			int var = Math.abs(trail[i]);
+			phase[var] = assigns[var] > 0;
+			assigns[var] = 0;
+		}
+		trailSize = start;
+		propagated = start;
+		decisionLevel = target;
+	}
+
+	/**
+	 * Function that returns 1 if a literal is true, -1 if it is false and 0 if it is unassigned
+	 */
+	private int valueOf(int literal){
+		int value = assigns[Math.abs(literal)];
+		return literal > 0 ? value : -value;
+	}
+
+	private static int code(int literal){
+		return literal > 0 ? 2*literal : -2*literal + 1;
+	}
+
+	public boolean isConsistent(){
+		return !inconsistent;
+	}
+
+	/**
+	 * Function that returns how many clauses conflicts taught the solver
+	 */
+	public int getLearntCount(){
+		return learnt;
+	}
+
+	public int getConflictCount(){
+		return conflicts;
+	}
+}
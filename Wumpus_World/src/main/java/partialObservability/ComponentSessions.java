@@ -0,0 +1,347 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * The knowledge base split into independent components
+	 */
+//===============================================================
+
+package partialObservability;
+import java.util.ArrayList;
+import java.util.BitSet;
+
+
+//===============================================================
+	/*
+	 * class ComponentSessions:
+	 * the told constraints partitioned into connected components over their
+	 * variables, kept with a union-find. Breezes and stenches only link a tile to
+	 * its neighbors, so the pits fall into islands around the explored regions;
+	 * the one wumpus links every wumpus variable, so those share one component.
+	 * Every component has its own ReasoningBackend, built from the component's
+	 * constraints on its first query and added to incrementally after that, and a
+	 * query KB |= l is a solve on the component of l only. A constraint joining two
+	 * components merges them, and the merged session is built anew on its next
+	 * query. A variable in no constraint is free, so no literal over it is
+	 * entailed, unless a component is found inconsistent when a clause is told.
+	 */
+//===============================================================
+public class ComponentSessions {
+	private final int numVars;
+	private final ReasoningBackend.Kind kind;   // the backend of the components
+	private final int[] parent;     // union-find over the variables, parent[var] == var for a root
+	private final Component[] components;   // components[root]
+	private boolean inconsistent = false;   // a told clause contradicts its component
+	private int merges = 0;
+	private int builds = 0;         // sessions built
+	private int queryCount = 0;     // counters of the sessions dropped by merges
+	private int modelHits = 0;
+	private long queryNanos = 0;
+
+	private static class Component {
+		final ArrayList<int[]> clauses = new ArrayList<>();
+		final ArrayList<int[]> groups = new ArrayList<>();  // exactly one of the variables is true
+		final ArrayList<Cardinality.Encoding> encodings = new ArrayList<>();
+		int size = 1;                   // variables
+		ReasoningBackend session = null; // null until the next query
+
+		Component(){
+		}
+
+		/**
+		 * copies the constraints of a component, not its session
+		 */
+		Component(Component other){
+			clauses.addAll(other.clauses);
+			groups.addAll(other.groups);
+			encodings.addAll(other.encodings);
+			size = other.size;
+		}
+	}
+
+	/**
+	 * @param numVars: number of variables, the literals used are in -numVars..numVars
+	 * @param kind: the backend every component is solved with
+	 */
+	public ComponentSessions(int numVars, ReasoningBackend.Kind kind){
+		this.numVars = numVars;
+		this.kind = kind;
+		parent = new int[numVars + 1];
+		components = new Component[numVars + 1];
+		for(int var = 0; var <= numVars; ++var){
+			parent[var] = var;
+		}
+	}
+
+	/**
+	 * Function that copies the components of another instance, the copy and the original are
+	 * independent. The sessions are not copied, each component of the copy builds its own on its
+	 * first query
+	 * @param other: the components to copy
+	 */
+	public ComponentSessions(ComponentSessions other){
+		numVars = other.numVars;
+		kind = other.kind;
+		parent = other.parent.clone();
+		components = new Component[numVars + 1];
+		for(int var = 0; var <= numVars; ++var){
+			if(other.components[var] != null){
+				components[var] = new Component(other.components[var]);
+			}
+		}
+		inconsistent = other.inconsistent;
+		merges = other.merges;
+	}
+
+	/**
+	 * Function that adds a clause to the component of its variables
+	 * @param literals: the clause, a negative literal is a negated variable
+	 */
+	public void addClause(int... literals){
+		if(literals.length == 0){
+			inconsistent = true;
+			return;
+		}
+		Component component = join(literals);
+		component.clauses.add(literals.clone());
+		if(component.session != null){
+			component.session.addClause(literals);
+			inconsistent |= !component.session.isConsistent();
+		}
+	}
+
+	/**
+	 * Function that adds "exactly one of vars is true" to the component of its variables
+	 * @param vars: the variables
+	 * @param encoding: the clause encoding of the at-most-one part
+	 */
+	public void addExactlyOne(int[] vars, Cardinality.Encoding encoding){
+		if(vars.length == 0){
+			inconsistent = true;
+			return;
+		}
+		Component component = join(vars);
+		component.groups.add(vars.clone());
+		component.encodings.add(encoding);
+		if(component.session != null){
+			component.session.addClause(vars);
+			Cardinality.atMostOne(component.session, vars, encoding);
+			inconsistent |= !component.session.isConsistent();
+		}
+	}
+
+	/**
+	 * Function that checks whether the knowledge base entails a literal, on the component of the literal
+	 * @param literal: a variable, negative if negated
+	 * @return true if every model of the knowledge base satisfies the literal
+	 */
+	public boolean entails(int literal){
+		if(inconsistent){
+			return true;
+		}
+		Component component = components[find(Math.abs(literal))];
+		if(component == null){
+			return false;
+		}
+		return session(component).entails(literal);
+	}
+
+	/**
+	 * Function that completes a backbone, component by component: the variables of the scope are
+	 * grouped by component and every group is a backbone on its component's session
+	 * @param backbone: the literals known to be entailed so far, they are not tested again; gets the
+	 *                  backbone over its scope
+	 */
+	public void backbone(Backbone backbone){
+		if(inconsistent){
+			backbone.markInconsistent();
+			return;
+		}
+		BitSet[] scopes = new BitSet[numVars + 1];  // scopes[root]: the variables of the scope in the component
+		for(int var: backbone.variables()){
+			int root = find(var);
+			if(components[root] == null){
+				continue;   // a free variable
+			}
+			if(scopes[root] == null){
+				scopes[root] = new BitSet();
+			}
+			scopes[root].set(var);
+		}
+		for(int root = 1; root <= numVars; ++root){
+			if(scopes[root] != null){
+				Backbone part = new Backbone(scopes[root]);
+				part.addAll(backbone);
+				session(components[root]).backbone(part);
+				backbone.addAll(part);
+			}
+		}
+	}
+
+	/**
+	 * Function that returns the session of a component, building it from the component's constraints
+	 * if it was merged since its last query
+	 */
+	private ReasoningBackend session(Component component){
+		if(component.session == null){
+			++builds;
+			ReasoningBackend session = ReasoningBackend.create(kind, numVars);
+			for(int[] clause: component.clauses){
+				session.addClause(clause);
+			}
+			for(int i = 0; i < component.groups.size(); ++i){
+				session.addClause(component.groups.get(i));
+				Cardinality.atMostOne(session, component.groups.get(i), component.encodings.get(i));
+			}
+			inconsistent |= !session.isConsistent();
+			component.session = session;
+		}
+		return component.session;
+	}
+
+	/**
+	 * Function that merges the components of some literals
+	 * @return the component they are in
+	 */
+	private Component join(int[] literals){
+		int root = find(Math.abs(literals[0]));
+		for(int literal: literals){
+			root = union(root, find(Math.abs(literal)));
+		}
+		if(components[root] == null){
+			components[root] = new Component();
+		}
+		return components[root];
+	}
+
+	/**
+	 * Function that merges two components, the smaller one into the larger one
+	 * @return the root of the merged component
+	 */
+	private int union(int a, int b){
+		if(a == b){
+			return a;
+		}
+		int sizeA = components[a] == null ? 1 : components[a].size;
+		int sizeB = components[b] == null ? 1 : components[b].size;
+		if(sizeA < sizeB){
+			int swap = a;
+			a = b;
+			b = swap;
+		}
+		parent[b] = a;
+		Component into = components[a];
+		Component from = components[b];
+		if(into == null){
+			into = components[a] = new Component();
+		}
+		into.size = sizeA + sizeB;
+		if(from != null){
+			++merges;
+			into.clauses.addAll(from.clauses);
+			into.groups.addAll(from.groups);
+			into.encodings.addAll(from.encodings);
+			retire(from);
+			retire(into);
+			components[b] = null;
+		}
+		return a;
+	}
+
+	/**
+	 * Function that drops the session of a component, keeping its counters
+	 */
+	private void retire(Component component){
+		if(component.session != null){
+			queryCount += component.session.getQueryCount();
+			modelHits += component.session.getModelHits();
+			queryNanos += component.session.getQueryNanos();
+			component.session = null;
+		}
+	}
+
+	private int find(int var){
+		while(parent[var] != var){
+			parent[var] = parent[parent[var]];
+			var = parent[var];
+		}
+		return var;
+	}
+
+	/**
+	 * Function that returns the number of components, variables in no constraint left out
+	 */
+	public int getComponentCount(){
+		int count = 0;
+		for(int var = 1; var <= numVars; ++var){
+			if(parent[var] == var && components[var] != null){
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Function that returns the number of variables of the largest component
+	 */
+	public int getLargestComponent(){
+		int largest = 0;
+		for(int var = 1; var <= numVars; ++var){
+			if(parent[var] == var && components[var] != null){
+				largest = Math.max(largest, components[var].size);
+			}
+		}
+		return largest;
+	}
+
+	public int getMergeCount(){
+		return merges;
+	}
+
+	/**
+	 * Function that returns how many component sessions were built
+	 */
+	public int getBuildCount(){
+		return builds;
+	}
+
+	/**
+	 * Function that returns how many solves the component sessions ran
+	 */
+	public int getQueryCount(){
+		int count = queryCount;
+		for(Component component: live()){
+			count += component.session.getQueryCount();
+		}
+		return count;
+	}
+
+	public int getModelHits(){
+		int hits = modelHits;
+		for(Component component: live()){
+			hits += component.session.getModelHits();
+		}
+		return hits;
+	}
+
+	public long getQueryNanos(){
+		long nanos = queryNanos;
+		for(Component component: live()){
+			nanos += component.session.getQueryNanos();
+		}
+		return nanos;
+	}
+
+	/**
+	 * Function that returns the components with a session
+	 */
+	private ArrayList<Component> live(){
+		ArrayList<Component> live = new ArrayList<>();
+		for(int var = 1; var <= numVars; ++var){
+			if(parent[var] == var && components[var] != null && components[var].session != null){
+				live.add(components[var]);
+			}
+		}
+		return live;
+	}
+}
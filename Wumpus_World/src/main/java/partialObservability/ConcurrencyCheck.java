@@ -0,0 +1,78 @@
+package partialObservability;
+
+// DESCRIPTION: Stress check for running many MyAI agents in one JVM.
+//              Every world of a folder is first played single-threaded to
+//              record the agent's actions. Then several copies of each world
+//              are played at once on a pool of threads, and every
+//              concurrent run must take exactly the recorded actions.
+//
+//              Syntax:
+//
+//                	ConcurrencyCheck WorldFolder [Threads] [Rounds]
+//
+//              Threads defaults to 32, Rounds (copies per world) to 3.
+// ======================================================================
+
+import wumpus.Agent;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConcurrencyCheck
+{
+	public static void main ( String[] args ) throws Exception
+	{
+		if ( args.length == 0 )
+		{
+			System.out.println ( "ConcurrencyCheck WorldFolder [Threads] [Rounds]" );
+			return;
+		}
+
+		File[] worlds = FolderRun.worlds ( args[0] );
+		if ( worlds == null )
+			return;
+		int threads = args.length >= 2 ? Integer.parseInt ( args[1] ) : 32;
+		int rounds  = args.length >= 3 ? Integer.parseInt ( args[2] ) : 3;
+
+		// reference runs, one agent at a time
+		List<List<Agent.Action>> expected = new ArrayList<>();
+		for ( File world : worlds )
+			expected.add ( play ( world ) );
+
+		// the same worlds, many agents at once
+		ExecutorService pool = Executors.newFixedThreadPool ( threads );
+		List<Future<List<Agent.Action>>> runs = new ArrayList<>();
+		for ( int round = 0; round < rounds; ++round )
+			for ( File world : worlds )
+				runs.add ( pool.submit ( ( ) -> play ( world ) ) );
+
+		int mismatches = 0;
+		for ( int i = 0; i < runs.size(); ++i )
+		{
+			File world = worlds[i % worlds.length];
+			List<Agent.Action> actual = runs.get(i).get();
+			if ( !actual.equals ( expected.get ( i % worlds.length ) ) )
+			{
+				++mismatches;
+				System.out.println ( "[MISMATCH] " + world + ": expected " + expected.get ( i % worlds.length )
+						+ ", got " + actual );
+			}
+		}
+		pool.shutdown();
+
+		System.out.println ( runs.size() + " concurrent runs on " + threads + " threads, " + mismatches + " mismatches" );
+		if ( mismatches > 0 )
+			System.exit ( 1 );
+	}
+
+	private static List<Agent.Action> play ( File worldFile ) throws Exception
+	{
+		List<Agent.Action> actions = new ArrayList<>();
+		FolderRun.play ( worldFile, new MyAI(), actions );
+		return actions;
+	}
+}
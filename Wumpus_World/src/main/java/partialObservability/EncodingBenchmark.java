@@ -0,0 +1,59 @@
+package partialObservability;
+
+// DESCRIPTION: Compares the encodings of the at-most-one-wumpus constraint.
+//              For each encoding, MyAI plays every world of a folder. The
+//              benchmark reports the size of the initial KB, the mean KB size
+//              at the end of an episode and the mean latency of a SAT solve,
+//              with propagation switched off so that every query and backbone
+//              is solved by SAT. It also counts the worlds where an encoding
+//              takes different actions than the first one, which must be 0:
+//              the program ends with status 1 otherwise.
+//
+//              Syntax:
+//
+//                	EncodingBenchmark WorldFolder [Repetitions]
+//
+//              The folder is played once per encoding to warm up the JIT,
+//              then Repetitions times (default 3) for the measurement.
+// ======================================================================
+
+import java.io.File;
+
+public class EncodingBenchmark
+{
+	public static void main ( String[] args ) throws Exception
+	{
+		if ( args.length == 0 )
+		{
+			System.out.println ( "EncodingBenchmark WorldFolder [Repetitions]" );
+			return;
+		}
+
+		File[] worlds = FolderRun.worlds ( args[0] );
+		if ( worlds == null )
+			return;
+		int repetitions = args.length >= 2 ? Integer.parseInt ( args[1] ) : 3;
+
+		FolderRun reference = null;
+		int differing = 0;
+		for ( Cardinality.Encoding encoding : Cardinality.Encoding.values() )
+		{
+			MyAI fresh = new MyAI ( encoding );
+			FolderRun run = FolderRun.play ( worlds, repetitions, ( ) -> FolderRun.satOnly ( new MyAI ( encoding ) ) );
+			if ( reference == null )
+				reference = run;
+			int other = run.differing ( reference );
+			differing += other;
+
+			System.out.println ( encoding + ":" );
+			System.out.println ( "\tinitial KB: " + fresh.KB.getClauseCount() + " clauses, "
+					+ fresh.KB.getVariableCount() + " variables" );
+			System.out.println ( "\tKB at end of episode (mean): " + run.clauses / run.episodes + " clauses" );
+			System.out.println ( "\tSAT solves per episode (mean): " + run.satQueries / run.episodes );
+			System.out.printf ( "\tsolve latency (mean): %.1f usec%n", run.satNanos / 1000.0 / Math.max ( 1, run.satQueries ) );
+			System.out.println ( "\taverage score: " + (double) run.scores / run.episodes );
+			System.out.println ( "\tworlds with other actions than " + Cardinality.Encoding.values()[0] + ": " + other );
+		}
+		FolderRun.exitIfDiffering ( differing );
+	}
+}
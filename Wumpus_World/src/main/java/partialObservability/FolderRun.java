@@ -0,0 +1,143 @@
+package partialObservability;
+
+// DESCRIPTION: What the benchmarks of this package share: the sorted worlds
+//              of a folder, playing a world with a given agent, and one
+//              measured pass of MyAI over a folder. A pass plays the folder
+//              once to warm up the JIT, then Repetitions times with a new
+//              agent per episode, and keeps the totals of the episodes and
+//              the action logs of the first repetition. Logs of two passes
+//              are compared with differing; a check that requires them to be
+//              the same ends the program with status 1 through
+//              exitIfDiffering, after everything was reported.
+// ======================================================================
+
+import wumpus.Agent;
+import wumpus.World;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+final class FolderRun
+{
+	// Totals over the measured episodes
+	long		scores		= 0;
+	long		actions		= 0;
+	long		clauses		= 0;	// Clauses of the KB at the end of the episodes
+	long		satQueries	= 0;
+	long		satNanos	= 0;	// Time of the SAT solves
+	long		expanded	= 0;	// States the D* Lite explorer expanded, 0 without one
+	long		plans		= 0;	// Plans of the D* Lite explorer
+	long		nanos		= 0;	// Wall time of the measured episodes
+	int			episodes	= 0;
+
+	// Action logs of the first repetition, one per world in folder order
+	final List<List<Agent.Action>> logs = new ArrayList<>();
+
+	private FolderRun ( ) { }
+
+	/**
+	 * Function that returns the worlds of a folder in name order, or null, after
+	 * printing an error, if it cannot be read
+	 */
+	static File[] worlds ( String folder )
+	{
+		File[] worlds = new File ( folder ).listFiles();
+		if ( worlds == null )
+		{
+			System.out.println ( "[ERROR] Failed to open directory." );
+			return null;
+		}
+		Arrays.sort ( worlds );
+		return worlds;
+	}
+
+	/**
+	 * Function that plays one world
+	 * @param log: receives the actions of the agent, may be null
+	 * @return the score
+	 */
+	static int play ( File worldFile, Agent agent, List<Agent.Action> log ) throws Exception
+	{
+		World world = new World ( false, agent, worldFile );
+		if ( log != null )
+			world.logActions ( log );
+		return world.run();
+	}
+
+	/**
+	 * Function that plays every world of a folder once to warm up, then
+	 * 'repetitions' times for the measurement, each episode with a new agent
+	 * @param agents: makes the agent of an episode
+	 */
+	static FolderRun play ( File[] worlds, int repetitions, Supplier<MyAI> agents ) throws Exception
+	{
+		for ( File world : worlds )
+			play ( world, agents.get(), null );
+
+		FolderRun run = new FolderRun();
+		long start = System.nanoTime();
+		for ( int rep = 0; rep < repetitions; ++rep )
+		{
+			for ( File world : worlds )
+			{
+				MyAI agent = agents.get();
+				List<Agent.Action> log = new ArrayList<>();
+				run.scores     += play ( world, agent, log );
+				run.actions    += log.size();
+				run.clauses    += agent.KB.getClauseCount();
+				run.satQueries += agent.KB.getSatQueryCount();
+				run.satNanos   += agent.KB.getSatQueryNanos();
+				if ( agent.explorer != null )
+				{
+					run.expanded += agent.explorer.getExpanded();
+					run.plans    += agent.explorer.getPlans();
+				}
+				if ( rep == 0 )
+					run.logs.add ( log );
+			}
+		}
+		run.nanos = System.nanoTime() - start;
+		run.episodes = repetitions * worlds.length;
+		return run;
+	}
+
+	/**
+	 * Function that returns the number of worlds where this pass took other
+	 * actions than a reference pass over the same folder
+	 */
+	int differing ( FolderRun reference )
+	{
+		int differing = 0;
+		for ( int i = 0; i < logs.size(); ++i )
+			if ( !logs.get(i).equals ( reference.logs.get(i) ) )
+				++differing;
+		return differing;
+	}
+
+	/**
+	 * Function that switches propagation off, so that every query and backbone
+	 * of the agent is solved by SAT
+	 * @return the agent
+	 */
+	static MyAI satOnly ( MyAI agent )
+	{
+		agent.KB.setPropagation ( false );
+		return agent;
+	}
+
+	/**
+	 * Function that ends the program with status 1 if a check found worlds
+	 * where actions that must be the same differ
+	 */
+	static void exitIfDiffering ( int differing )
+	{
+		if ( differing > 0 )
+		{
+			System.out.println ( "[ERROR] " + differing + " worlds with other actions than the reference." );
+			System.exit ( 1 );
+		}
+	}
+}
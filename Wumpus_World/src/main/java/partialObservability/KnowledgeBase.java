@@ -0,0 +1,493 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * The knowledge base of MyAI
+	 */
+//===============================================================
+
+package partialObservability;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntUnaryOperator;
+
+
+//===============================================================
+	/*
+	 * class KnowledgeBase:
+	 * what MyAI tells and asks. Everything told goes to the SAT side, on one of the
+	 * ReasoningBackends (AUTO by default), and to a WumpusPropagator. A query is
+	 * first put to the propagator, which decides the local deductions of the
+	 * wumpus world, and only the queries it cannot decide are solved with SAT.
+	 * Propagation can be switched off to answer every query with SAT.
+	 * The backbone, every literal entailed over a scope of variables of the table,
+	 * is computed the same way in one pass and kept until the next clause is told,
+	 * so a scan of the board is one backbone, not a query per tile.
+	 * The SAT side is split into connected components (see ComponentSessions), so a
+	 * query is solved on the constraints of its own component; the decomposition can
+	 * be switched off to solve on the whole knowledge base, whose session is built
+	 * from the told constraints on its first query.
+	 * Nothing told is ever taken back, so a literal entailed once stays entailed:
+	 * positive answers are cached for the whole episode, and a backbone starts from
+	 * them and does not test them again. Negative answers are cached until the next
+	 * clause is told.
+	 * The initial knowledge base is the same for every agent, so it is built once
+	 * and shared: share makes a knowledge base a read-only template, and copy gives
+	 * an agent its own knowledge base on top of it. A copy clones the propagator
+	 * and the components, not the clauses; the template's told constraints are
+	 * read again only if a SAT session is built.
+	 * A copy can also be moved onto another template, e.g. one of a larger board:
+	 * regrid tells the new copy what was told since the old template, with the
+	 * variables renamed.
+	 */
+//===============================================================
+public class KnowledgeBase {
+	private final ReasoningBackend.Kind kind;
+	private ReasoningBackend session = null;    // the whole knowledge base, null until its first query
+	private final KnowledgeBase base;   // the shared template this one is a copy of, null for none
+	private final ArrayList<int[]> clauses = new ArrayList<>();     // told since the base
+	private final ArrayList<int[]> groups = new ArrayList<>();      // told since the base, exactly one of the variables is true
+	private final ArrayList<Cardinality.Encoding> encodings = new ArrayList<>();
+	private boolean shared = false;     // a template, it is only copied
+	private int clauseCount = 0;        // clauses, with those of the base and of the cardinality encodings
+	private int variableCount;          // variables, with auxiliary variables
+	private final ComponentSessions components;
+	private boolean decomposition = true;
+	private final WumpusPropagator propagator;
+	private final ArrayList<int[]> history = new ArrayList<>();     // clauses and equivalences told since the base, in order
+	private final BitSet equivalences = new BitSet();   // entries of history that are equivalences, head first
+	private final int tableVars;        // the variables of the PropTable, without auxiliary variables
+	private boolean propagation = true;
+	private Backbone backbone = null;   // backbone of the told clauses, null if a clause was told since
+	private int backboneCount = 0;      // backbones computed
+	private final Backbone entailed;    // every literal found entailed so far, never dropped
+	private final BitSet notTrue = new BitSet();    // variables found not entailed true since the last told clause
+	private final BitSet notFalse = new BitSet();   // variables found not entailed false since the last told clause
+	private int cacheHits = 0;          // queries and backbones answered from the caches
+	private int cacheMisses = 0;        // queries and backbones computed
+	private int reusedCount = 0;        // backbone literals taken from the cache instead of tested
+	private int queryCount = 0;
+	private int propagatedCount = 0;    // queries decided by propagation
+	private int fallbackCount = 0;      // queries and backbone variables propagation could not decide, answered by SAT
+
+	/**
+	 * @param numVars: number of variables, the literals used are in -numVars..numVars
+	 */
+	public KnowledgeBase(int numVars){
+		this(numVars, ReasoningBackend.Kind.AUTO);
+	}
+
+	/**
+	 * @param numVars: number of variables, the literals used are in -numVars..numVars
+	 * @param backend: the solver of the SAT queries
+	 */
+	public KnowledgeBase(int numVars, ReasoningBackend.Kind backend){
+		kind = backend;
+		base = null;
+		tableVars = numVars;
+		variableCount = numVars;
+		components = new ComponentSessions(numVars, backend);
+		propagator = new WumpusPropagator(numVars);
+		entailed = new Backbone(numVars);
+	}
+
+	/**
+	 * a copy of a shared template, with the template's settings
+	 */
+	private KnowledgeBase(KnowledgeBase template){
+		kind = template.kind;
+		base = template;
+		tableVars = template.tableVars;
+		variableCount = template.variableCount;
+		clauseCount = template.clauseCount;
+		components = new ComponentSessions(template.components);
+		propagator = new WumpusPropagator(template.propagator);
+		entailed = new Backbone(tableVars);
+		entailed.addAll(template.entailed);
+		propagation = template.propagation;
+		decomposition = template.decomposition;
+	}
+
+	/**
+	 * Function that makes this knowledge base a template: from now on it is only copied, never
+	 * told or asked anything, so any number of threads may copy it at once
+	 * @return this knowledge base
+	 */
+	public KnowledgeBase share(){
+		shared = true;
+		return this;
+	}
+
+	/**
+	 * Function that returns a knowledge base of its own on top of a shared template, it entails
+	 * what the template does and is told and asked independently of it
+	 * @return the copy
+	 */
+	public KnowledgeBase copy(){
+		if(!shared){
+			throw new IllegalStateException("only a shared knowledge base can be copied");
+		}
+		return new KnowledgeBase(this);
+	}
+
+	/**
+	 * Function that returns a new copy of a shared template with the settings of this knowledge base,
+	 * e.g. for the agent's next world
+	 * @param template: the template, e.g. of another board size
+	 * @return the copy
+	 */
+	public KnowledgeBase restart(KnowledgeBase template){
+		KnowledgeBase fresh = template.copy();
+		fresh.propagation = propagation;
+		fresh.decomposition = decomposition;
+		return fresh;
+	}
+
+	/**
+	 * Function that adds a clause to the knowledge base
+	 * @param literals: the clause, a negative literal is a negated variable
+	 */
+	public void addClause(int... literals){
+		history.add(literals.clone());
+		told();
+		tell(literals);
+		propagator.addClause(literals);
+	}
+
+	/**
+	 * Function that adds head <=> (body_1 v ... v body_k) in clause form
+	 * @param head: a variable
+	 * @param body: variables
+	 */
+	public void addEquivalence(int head, int... body){
+		// (not head v body_1 v ... v body_k) and (not body_i v head) for every i
+		told();
+		int[] equivalence = new int[body.length + 1];
+		equivalence[0] = head;
+		System.arraycopy(body, 0, equivalence, 1, body.length);
+		equivalences.set(history.size());
+		history.add(equivalence);
+		int[] someBody = new int[body.length + 1];
+		someBody[0] = -head;
+		for(int i = 0; i < body.length; ++i){
+			someBody[i+1] = body[i];
+			tell(-body[i], head);
+		}
+		tell(someBody);
+		propagator.addEquivalence(head, body);
+	}
+
+	/**
+	 * Function that adds "exactly one of vars is true"
+	 * @param vars: the variables
+	 * @param encoding: the clause encoding of the at-most-one part
+	 */
+	public void addExactlyOne(int[] vars, Cardinality.Encoding encoding){
+		told();
+		clauseCount += 1 + Cardinality.clauseCount(vars.length, encoding);
+		variableCount += Cardinality.auxiliaryCount(vars.length, encoding);
+		groups.add(vars.clone());
+		encodings.add(encoding);
+		if(session != null){
+			session.addClause(vars);
+			Cardinality.atMostOne(session, vars, encoding);
+		}
+		components.addExactlyOne(vars, encoding);
+		propagator.addExactlyOne(vars);
+	}
+
+	/**
+	 * Function that returns a new copy of a shared template, with the settings of this knowledge
+	 * base, told everything this one was told since its own template, e.g. to move the agent's
+	 * knowledge onto a larger board
+	 * @param template: the template, its table must hold the renamed variables
+	 * @param rename: the variable of the template's table for every variable of this one's
+	 * @return the copy
+	 */
+	public KnowledgeBase regrid(KnowledgeBase template, IntUnaryOperator rename){
+		if(base == null){
+			throw new IllegalStateException("only a copy of a shared knowledge base can be moved onto another template");
+		}
+		KnowledgeBase fresh = restart(template);
+		for(int i = 0; i < history.size(); ++i){
+			int[] literals = rename(history.get(i), rename);
+			if(equivalences.get(i)){
+				fresh.addEquivalence(literals[0], Arrays.copyOfRange(literals, 1, literals.length));
+			}
+			else{
+				fresh.addClause(literals);
+			}
+		}
+		for(int i = 0; i < groups.size(); ++i){
+			fresh.addExactlyOne(rename(groups.get(i), rename), encodings.get(i));
+		}
+		return fresh;
+	}
+
+	private static int[] rename(int[] literals, IntUnaryOperator rename){
+		int[] renamed = new int[literals.length];
+		for(int i = 0; i < literals.length; ++i){
+			int var = rename.applyAsInt(Math.abs(literals[i]));
+			renamed[i] = literals[i] < 0 ? -var : var;
+		}
+		return renamed;
+	}
+
+	/**
+	 * Function that adds a clause to the SAT side
+	 */
+	private void tell(int... literals){
+		++clauseCount;
+		clauses.add(literals.clone());
+		if(session != null){
+			session.addClause(literals);
+		}
+		components.addClause(literals);
+	}
+
+	/**
+	 * Function that returns the session of the whole knowledge base, building it from the told
+	 * constraints on first use
+	 */
+	private ReasoningBackend session(){
+		if(session == null){
+			session = ReasoningBackend.create(kind, tableVars);
+			replay(session);
+		}
+		return session;
+	}
+
+	/**
+	 * Function that tells a session the constraints of the base and then the ones told since
+	 */
+	private void replay(ReasoningBackend target){
+		if(base != null){
+			base.replay(target);
+		}
+		for(int[] clause: clauses){
+			target.addClause(clause);
+		}
+		for(int i = 0; i < groups.size(); ++i){
+			target.addClause(groups.get(i));
+			Cardinality.atMostOne(target, groups.get(i), encodings.get(i));
+		}
+	}
+
+	/**
+	 * Function that checks whether the knowledge base entails a literal
+	 * @param literal: a variable, negative if negated
+	 * @return true if every model of the knowledge base satisfies the literal
+	 */
+	public boolean entails(int literal){
+		checkOwned();
+		++queryCount;
+		int var = Math.abs(literal);
+		if(var <= tableVars){
+			if(entailed.entails(literal) || (literal > 0 ? notTrue : notFalse).get(var)){
+				++cacheHits;
+				return entailed.entails(literal);
+			}
+			++cacheMisses;
+		}
+		boolean answer = decide(literal);
+		if(var <= tableVars){
+			if(answer){
+				entailed.add(literal);
+			}
+			else{
+				(literal > 0 ? notTrue : notFalse).set(var);
+			}
+		}
+		return answer;
+	}
+
+	private boolean decide(int literal){
+		if(propagation){
+			Boolean decided = propagator.entails(literal);
+			if(decided != null){
+				++propagatedCount;
+				return decided;
+			}
+			++fallbackCount;
+		}
+		return solve(literal);
+	}
+
+	/**
+	 * Function that decides a query with SAT, on its component or on the whole knowledge base
+	 */
+	private boolean solve(int literal){
+		return decomposition ? components.entails(literal) : session().entails(literal);
+	}
+
+	/**
+	 * Function that returns the backbone of the knowledge base over a scope of variables, computed
+	 * once per told clauses as long as the scopes asked for are covered by the first one
+	 * @param scope: the variables of interest, in the table
+	 * @return the literals over the scope every model satisfies
+	 */
+	public Backbone backbone(BitSet scope){
+		checkOwned();
+		if(scope.length() > tableVars + 1){
+			throw new IllegalArgumentException("variable " + (scope.length() - 1) + " is not in the table");
+		}
+		if(backbone != null && backbone.covers(scope)){
+			++cacheHits;
+			return backbone;
+		}
+		++cacheMisses;
+		++backboneCount;
+		Backbone result = new Backbone(scope);
+		result.addAll(entailed);
+		int known = result.size();
+		if(!propagation && decomposition){
+			components.backbone(result);
+		}
+		else if(!propagation){
+			session().backbone(result);
+		}
+		else if(!propagator.isConsistent()){
+			result.markInconsistent();
+		}
+		else{
+			BitSet undecided = new BitSet();
+			propagator.backbone(result, undecided);
+			for(int var = undecided.nextSetBit(0); var >= 0; var = undecided.nextSetBit(var + 1)){
+				++fallbackCount;
+				if(solve(var)){
+					result.add(var);
+				}
+				else if(solve(-var)){
+					result.add(-var);
+				}
+			}
+		}
+		reusedCount += known;
+		entailed.addAll(result);
+		backbone = result;
+		return backbone;
+	}
+
+	/**
+	 * Function that drops what a told clause may change: the backbone and the negative answers
+	 */
+	private void told(){
+		checkOwned();
+		backbone = null;
+		notTrue.clear();
+		notFalse.clear();
+	}
+
+	private void checkOwned(){
+		if(shared){
+			throw new IllegalStateException("a shared knowledge base is read-only, use a copy");
+		}
+	}
+
+	/**
+	 * Function that switches propagation on or off, it is on by default
+	 * @param propagation: false to answer every query and backbone with SAT
+	 */
+	public void setPropagation(boolean propagation){
+		this.propagation = propagation;
+	}
+
+	/**
+	 * Function that switches the decomposition into components on or off, it is on by default
+	 * @param decomposition: false to solve every SAT query on the whole knowledge base
+	 */
+	public void setDecomposition(boolean decomposition){
+		this.decomposition = decomposition;
+	}
+
+	/**
+	 * Function that returns the number of components of the knowledge base
+	 */
+	public int getComponentCount(){
+		return components.getComponentCount();
+	}
+
+	/**
+	 * Function that returns the number of variables of the largest component
+	 */
+	public int getLargestComponent(){
+		return components.getLargestComponent();
+	}
+
+	public int getVariableCount(){
+		return variableCount;
+	}
+
+	public int getClauseCount(){
+		return clauseCount;
+	}
+
+	public int getQueryCount(){
+		return queryCount;
+	}
+
+	/**
+	 * Function that returns how many queries propagation decided
+	 */
+	public int getPropagatedCount(){
+		return propagatedCount;
+	}
+
+	/**
+	 * Function that returns how many queries and backbones the caches answered
+	 */
+	public int getCacheHits(){
+		return cacheHits;
+	}
+
+	/**
+	 * Function that returns how many queries and backbones had to be computed
+	 */
+	public int getCacheMisses(){
+		return cacheMisses;
+	}
+
+	/**
+	 * Function that returns how many backbone literals were known from earlier answers, so not tested
+	 */
+	public int getReusedCount(){
+		return reusedCount;
+	}
+
+	/**
+	 * Function that returns how many backbones were computed
+	 */
+	public int getBackboneCount(){
+		return backboneCount;
+	}
+
+	/**
+	 * Function that returns how many queries and backbone variables propagation could not decide,
+	 * so SAT answered them
+	 */
+	public int getFallbackCount(){
+		return fallbackCount;
+	}
+
+	/**
+	 * Function that returns how many solves the SAT sessions ran, for queries and backbones
+	 */
+	public int getSatQueryCount(){
+		return (session == null ? 0 : session.getQueryCount()) + components.getQueryCount();
+	}
+
+	/**
+	 * Function that returns how many SAT queries a cached model answered without a solve
+	 */
+	public int getModelHitCount(){
+		return (session == null ? 0 : session.getModelHits()) + components.getModelHits();
+	}
+
+	/**
+	 * Function that returns the time the SAT sessions spent answering queries
+	 */
+	public long getSatQueryNanos(){
+		return (session == null ? 0 : session.getQueryNanos()) + components.getQueryNanos();
+	}
+}
@@ -0,0 +1,104 @@
+package partialObservability;
+
+// DESCRIPTION: Measures what it costs to load a world file. Every world of a
+//              folder is read with WorldLayout.read and with the Scanner
+//              based reader World used before it, which is kept here as the
+//              reference. The benchmark checks that both give the same
+//              layouts, ending with status 1 otherwise, and reports the mean
+//              time per file of each.
+//
+//              Syntax:
+//
+//                	LoaderBenchmark WorldFolder [Repetitions]
+//
+//              The folder is read once by each reader to warm up the JIT,
+//              then Repetitions times (default 20) for the measurement.
+// ======================================================================
+
+import wumpus.WorldLayout;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+public class LoaderBenchmark
+{
+	public static void main ( String[] args ) throws Exception
+	{
+		if ( args.length == 0 )
+		{
+			System.out.println ( "LoaderBenchmark WorldFolder [Repetitions]" );
+			return;
+		}
+
+		File[] worlds = FolderRun.worlds ( args[0] );
+		if ( worlds == null )
+			return;
+		int repetitions = args.length >= 2 ? Integer.parseInt ( args[1] ) : 20;
+
+		// warm up, and check the readers agree
+		int differing = 0;
+		for ( File world : worlds )
+			if ( !WorldLayout.read ( world ).equals ( scan ( world ) ) )
+			{
+				System.out.println ( "[ERROR] The readers differ on " + world );
+				++differing;
+			}
+
+		long scannerNanos = 0, loaderNanos = 0;
+		int pits = 0;
+		for ( int rep = 0; rep < repetitions; ++rep )
+		{
+			long start = System.nanoTime();
+			for ( File world : worlds )
+				pits += scan ( world ).getPitCount();
+			long scanned = System.nanoTime();
+			for ( File world : worlds )
+				pits += WorldLayout.read ( world ).getPitCount();
+			long loaded = System.nanoTime();
+			scannerNanos += scanned - start;
+			loaderNanos  += loaded - scanned;
+		}
+
+		int files = repetitions * worlds.length;
+		System.out.printf ( "Scanner (mean): %.1f usec per file%n", scannerNanos / 1000.0 / files );
+		System.out.printf ( "WorldLayout.read (mean): %.1f usec per file%n", loaderNanos / 1000.0 / files );
+		System.out.println ( "(" + pits + " pits read)" );
+		if ( differing > 0 )
+			System.exit ( 1 );
+	}
+
+	/**
+	 * Function that reads a world file the way World did with a Scanner
+	 */
+	private static WorldLayout scan ( File worldFile ) throws Exception
+	{
+		try ( Scanner scan = new Scanner ( worldFile ) )
+		{
+			int cols = nextInt ( scan );
+			int rows = nextInt ( scan );
+			int wc   = nextInt ( scan );
+			int wr   = nextInt ( scan );
+			int gc   = nextInt ( scan );
+			int gr   = nextInt ( scan );
+
+			int numOfPits = nextInt ( scan );
+			List<Integer> pits = new ArrayList<>();
+			while ( numOfPits > 0 && scan.hasNextLine() )
+			{
+				--numOfPits;
+				pits.add ( nextInt ( scan ) );
+				pits.add ( nextInt ( scan ) );
+			}
+			return new WorldLayout ( cols, rows, wc, wr, gc, gr, pits.stream().mapToInt ( Integer::intValue ).toArray() );
+		}
+	}
+
+	private static int nextInt ( Scanner scan ) throws Exception
+	{
+		if ( !scan.hasNextInt() )
+			throw new Exception();
+		return scan.nextInt();
+	}
+}
@@ -2,7 +2,6 @@ package partialObservability;
 import org.tweetyproject.logics.pl.reasoner.SatReasoner;
 import org.tweetyproject.logics.pl.reasoner.SimplePlReasoner;
 import org.tweetyproject.logics.pl.sat.Sat4jSolver;
-import org.tweetyproject.logics.pl.sat.SatSolver;
 import wumpus.Agent;
 
 import org.tweetyproject.logics.pl.syntax.*;
@@ -32,8 +31,7 @@ public class Logic{
 
         PlBeliefSet KB = new PlBeliefSet();
         SimplePlReasoner reasoner = new SimplePlReasoner();
-        SatReasoner sat = new SatReasoner();
-        SatSolver.setDefaultSolver(new Sat4jSolver());
+        SatReasoner sat = new SatReasoner(new Sat4jSolver());
 
         Proposition R1 = new Proposition("B_00");
         KB.add(new Negation(R1));
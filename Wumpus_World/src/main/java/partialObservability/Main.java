@@ -17,6 +17,9 @@ package partialObservability;
 //                         display the average score and standard
 //                         deviation instead of a single score. InputFile
 //                         must be entered with this option.
+//                      -p evaluates the worlds of -f in parallel. The
+//                         number of workers may follow the option, e.g.
+//                         -fp4; default is one per processor.
 //
 //                  InputFile: A path to a valid Wumpus World File, or
 //                             folder with -f. This is optional unless
@@ -30,7 +33,9 @@ package partialObservability;
 //              - Don't make changes to this file.
 // ======================================================================
 
+import wumpus.FolderEvaluator;
 import wumpus.World;
+import wumpus.WorldLayout;
 
 import java.io.BufferedWriter;
 import java.io.File;
@@ -80,6 +85,8 @@ public class Main
 		boolean randomAI     = false;
 		boolean manualAI      = false;
 		boolean folder       = false;
+		boolean parallel     = false;
+		int		workers      = 0;
 		String	worldFile    = "";
 		String	outputFile   = "";
 		String 	firstToken 	 = args[0];
@@ -105,6 +112,13 @@ public class Main
 						verbose = true;
 						break;
 						
+					case 'p':
+					case 'P':
+						parallel = true;
+						while ( index+1 < firstToken.length() && Character.isDigit(firstToken.charAt(index+1)) )
+							workers = workers*10 + (firstToken.charAt(++index) - '0');
+						break;
+						
 					case 'r':
 					case 'R':
 						randomAI = true;
@@ -136,6 +150,8 @@ public class Main
 						System.out.println ( "\t   display the average score and standard" );
 						System.out.println ( "\t   deviation instead of a single score. InputFile" );
 						System.out.println ( "\t   must be entered with this option." );
+						System.out.println ( "\t-p Evaluates the worlds of -f in parallel. The" );
+						System.out.println ( "\t   number of workers may follow, e.g. -fp4." );
 						System.out.println ( );
 						System.out.println ( "InputFile: A path to a valid Wumpus World File, or" );
 						System.out.println ( "           folder with -f. This is optional unless" );
@@ -205,6 +221,20 @@ public class Main
 			long startTime,totalTime,elapsedTime;
 			totalTime=0;
 
+			if ( parallel && ( debug || manualAI ) )
+			{
+				parallel = false;
+				System.out.println ( "[WARNING] Debug and manual play are interactive; running worlds sequentially." );
+			}
+
+			// In parallel mode all worlds are run up front, the loop below then
+			// reports them in folder order exactly like the sequential path
+			FolderEvaluator.Result[] results = null;
+			long wallStart = System.currentTimeMillis();
+			if ( parallel )
+				results = FolderEvaluator.evaluate ( listOfWorlds, workers, randomAI, manualAI, search );
+			World world = null;	// played the previous world, reset for the next one
+
 			for ( int worldIndex = 0; worldIndex < listOfWorlds.length; worldIndex++ )
 			{
 				if ( verbose )
@@ -213,10 +243,22 @@ public class Main
 				int score = 0;
 				try
 				{
-					startTime = System.currentTimeMillis();
-					World world = new World( debug, randomAI, manualAI, search, listOfWorlds[worldIndex] );
-					score = world.run();
-					elapsedTime = System.currentTimeMillis()-startTime;
+					if ( results != null )
+					{
+						score = results[worldIndex].getScore();
+						elapsedTime = results[worldIndex].getElapsedTime();
+					}
+					else
+					{
+						startTime = System.currentTimeMillis();
+						WorldLayout layout = WorldLayout.read ( listOfWorlds[worldIndex] );
+						if ( world == null )
+							world = new World( debug, randomAI, manualAI, search, layout, null );
+						else
+							world.reset ( layout );
+						score = world.run();
+						elapsedTime = System.currentTimeMillis()-startTime;
+					}
 				}
 				catch ( Exception e )
 				{
@@ -239,6 +281,8 @@ public class Main
 				System.out.println ( "The agent's average score: " + avg );
 				System.out.println ( "The agent's standard deviation: " + std_dev );
 				System.out.println ("Total time in msec: " + totalTime);
+				if ( parallel )
+					System.out.println ("Wall time in msec: " + (System.currentTimeMillis()-wallStart));
 			}
 			else
 			{
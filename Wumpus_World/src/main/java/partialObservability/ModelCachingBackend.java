@@ -0,0 +1,266 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * A backend on an incremental solver, with a cache of its models
+	 */
+//===============================================================
+
+package partialObservability;
+import java.util.ArrayDeque;
+
+
+//===============================================================
+	/*
+	 * class ModelCachingBackend:
+	 * the part of a backend that does not depend on the solver. Clauses are added
+	 * once, when they are told, and every entailment query KB |= l is answered as
+	 * one solve under the assumption not l, so the clauses are never re-encoded.
+	 * The backbone, all the entailed literals at once, is extracted from the same
+	 * solver. The models the solver finds are kept in a small cache: a cached
+	 * model that falsifies l shows KB does not entail l without a solve. A told
+	 * clause evicts the cached models it falsifies, the others are still models
+	 * of the larger KB. A subclass only adds clauses to its solver and solves.
+	 */
+//===============================================================
+public abstract class ModelCachingBackend implements ReasoningBackend {
+	private boolean inconsistent = false; // true once the told clauses are unsatisfiable
+	private int numVars;
+	private int clauseCount = 0;
+	private int queryCount = 0;
+	private long queryNanos = 0; // time spent answering queries
+	private static final int MODEL_CACHE = 32; // models kept
+	private static final int PHASE_MIN = 4; // open candidates that make a backbone search a second model
+	private final ArrayDeque<boolean[]> models = new ArrayDeque<>(); // recent models, newest first, model[var]
+	private int modelHits = 0; // queries answered by a cached model
+
+	/**
+	 * @param numVars: number of variables, the literals used are in -numVars..numVars
+	 */
+	protected ModelCachingBackend(int numVars){
+		this.numVars = numVars;
+	}
+
+	/**
+	 * Function that makes the solver hold variables 1..numVars
+	 */
+	protected abstract void allocate(int numVars);
+
+	/**
+	 * Function that adds a clause to the solver
+	 * @param literals: the clause, the solver may not keep the array
+	 * @return false if the solver finds the clauses contradictory
+	 */
+	protected abstract boolean tell(int[] literals);
+
+	/**
+	 * Function that searches a model of the clauses
+	 * @param assumption: a literal the model must satisfy, 0 for none
+	 * @param positivePhase: true to decide variables true first
+	 * @return true if there is a model, its values are then read with value
+	 */
+	protected abstract boolean solve(int assumption, boolean positivePhase);
+
+	/**
+	 * Function that returns the value of a variable in the model of the last solve
+	 */
+	protected abstract boolean value(int var);
+
+	@Override
+	public int newVariables(int count){
+		int first = numVars + 1;
+		numVars += count;
+		allocate(numVars);
+		return first;
+	}
+
+	@Override
+	public void addClause(int... literals){
+		++clauseCount;
+		if(inconsistent){
+			return;
+		}
+		if(literals.length == 0){
+			inconsistent = true;
+			models.clear();
+			return;
+		}
+		models.removeIf(model -> !satisfies(model, literals));
+		if(!tell(literals.clone())){
+			inconsistent = true;
+			models.clear();
+		}
+	}
+
+	@Override
+	public boolean entails(int literal){
+		if(inconsistent){
+			return true;
+		}
+		for(boolean[] model: models){
+			if(!satisfies(model, literal)){
+				++modelHits;
+				return false;
+			}
+		}
+		// KB |= l iff KB and not l has no model
+		++queryCount;
+		long start = System.nanoTime();
+		try {
+			if(solve(-literal, false)){
+				remember();
+				return false;
+			}
+			return true;
+		} finally {
+			queryNanos += System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Function that computes every literal over the scope of a backbone the knowledge base entails,
+	 * by iterative model filtering: the literals of a first model, the newest cached one if there is
+	 * one, are the candidates, and the other cached models drop the ones they falsify. When more
+	 * than a few candidates are left, a second model, searched deciding variables true where the
+	 * solver starts with false, drops every candidate it falsifies, which are most of the
+	 * unconstrained variables. Each
+	 * remaining candidate is then tested by a solve under its negation, and every model found that
+	 * way drops the candidates it falsifies as well
+	 * @param backbone: the literals known to be entailed so far, they are not tested again; gets the
+	 *                  backbone over its scope, auxiliary variables are left out
+	 */
+	@Override
+	public void backbone(Backbone backbone){
+		if(inconsistent){
+			backbone.markInconsistent();
+			return;
+		}
+		int[] scope = backbone.variables();
+		long start = System.nanoTime();
+		try {
+			if(models.isEmpty()){
+				++queryCount;
+				if(!solve(0, false)){
+					backbone.markInconsistent();
+					return;
+				}
+				remember();
+			}
+			boolean[] value = new boolean[backbone.lastVariable() + 1];   // the candidate polarity of each variable
+			boolean[] dropped = new boolean[backbone.lastVariable() + 1]; // a model falsified the candidate
+			boolean[] first = models.peekFirst();
+			for(int var: scope){
+				value[var] = first[var];
+			}
+			for(boolean[] model: models){
+				dropFalsified(value, dropped, model, scope, 0);
+			}
+			// a second model with the opposite decision phase, unless testing the candidates costs less
+			int open = 0;
+			for(int var: scope){
+				if(!dropped[var] && !backbone.entails(value[var] ? var : -var)){
+					++open;
+				}
+			}
+			if(open > PHASE_MIN){
+				++queryCount;
+				solve(0, true);
+				dropFalsified(value, dropped, remember(), scope, 0);
+			}
+			for(int i = 0; i < scope.length; ++i){
+				int var = scope[i];
+				if(dropped[var]){
+					continue;
+				}
+				int literal = value[var] ? var : -var;
+				if(backbone.entails(literal)){
+					continue;
+				}
+				++queryCount;
+				if(!solve(-literal, false)){
+					backbone.add(literal);
+					continue;
+				}
+				dropFalsified(value, dropped, remember(), scope, i + 1);
+			}
+		} finally {
+			queryNanos += System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Function that drops the candidates from scope[from] on a model falsifies
+	 */
+	private static void dropFalsified(boolean[] value, boolean[] dropped, boolean[] model, int[] scope, int from){
+		for(int i = from; i < scope.length; ++i){
+			int var = scope[i];
+			if(!dropped[var] && model[var] != value[var]){
+				dropped[var] = true;
+			}
+		}
+	}
+
+	/**
+	 * Function that puts the model of the last solve in the cache
+	 * @return the model, model[var] is the value of var
+	 */
+	private boolean[] remember(){
+		boolean[] model = new boolean[numVars + 1];
+		for(int var = 1; var <= numVars; ++var){
+			model[var] = value(var);
+		}
+		models.addFirst(model);
+		if(models.size() > MODEL_CACHE){
+			models.removeLast();
+		}
+		return model;
+	}
+
+	/**
+	 * Function that checks whether a cached model satisfies a clause, a model does not satisfy
+	 * literals over variables added after it was found
+	 */
+	private static boolean satisfies(boolean[] model, int... literals){
+		for(int literal: literals){
+			int var = Math.abs(literal);
+			if(var < model.length && model[var] == literal > 0){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Function that returns false once a told clause contradicts the knowledge base, a contradiction
+	 * that only a solve can find is not noticed
+	 */
+	@Override
+	public boolean isConsistent(){
+		return !inconsistent;
+	}
+
+	@Override
+	public int getVariableCount(){
+		return numVars;
+	}
+
+	@Override
+	public int getClauseCount(){
+		return clauseCount;
+	}
+
+	@Override
+	public int getQueryCount(){
+		return queryCount;
+	}
+
+	@Override
+	public int getModelHits(){
+		return modelHits;
+	}
+
+	@Override
+	public long getQueryNanos(){
+		return queryNanos;
+	}
+}
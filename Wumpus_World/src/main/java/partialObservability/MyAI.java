@@ -7,15 +7,15 @@
 //===============================================================
 
 package partialObservability;
+import fullObservability.DStarLite;
+import fullObservability.DistanceField;
 import fullObservability.SearchAI;
-import org.tweetyproject.logics.pl.reasoner.SatReasoner;
-import org.tweetyproject.logics.pl.sat.*;
-import org.tweetyproject.logics.pl.sat.Sat4jSolver;
-import wumpus.World;
 import wumpus.Agent;
-import org.tweetyproject.logics.pl.syntax.*;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 //===============================================================
@@ -25,6 +25,24 @@ import java.util.LinkedList;
 //===============================================================
 public class MyAI extends Agent {
 	public MyAI() {
+		this(Cardinality.Encoding.PAIRWISE);
+	}
+
+	/**
+	 * @param encoding: how initKB encodes that there is at most one wumpus
+	 */
+	public MyAI(Cardinality.Encoding encoding) {
+		this(encoding, ReasoningBackend.Kind.AUTO);
+	}
+
+	/**
+	 * @param encoding: how initKB encodes that there is at most one wumpus
+	 * @param backend: the solver of the knowledge base
+	 */
+	public MyAI(Cardinality.Encoding encoding, ReasoningBackend.Kind backend) {
+		this.encoding = encoding;
+		this.backend = backend;
+		KB = template().copy();
 	}
 
 
@@ -46,28 +64,19 @@ public class MyAI extends Agent {
 	boolean goldFound = false;
 	boolean wumpusAlive = true;
 	Action lastAction = Action.CLIMB; // when starting the game
-	private World.Tile[][] board; // constructing world boards
+	static final int BOUND = 8; // the KB first covers an 8x8 grid, enough for worlds up to 7x7
+	int bound = BOUND; // columns and rows the KB covers, doubled when the believed board reaches it
+	PropTable vars = PropTable.forBounds(BOUND, BOUND); // interned propositional variables
+	// initial knowledge bases, built once per bound, encoding and backend and copied by every agent
+	private static final ConcurrentHashMap<List<Object>, KnowledgeBase> TEMPLATES = new ConcurrentHashMap<>();
+	final Cardinality.Encoding encoding; // encoding of the at-most-one-wumpus constraint
+	final ReasoningBackend.Kind backend; // solver of the knowledge base
 
 //===============================================================
 	/*
 	 * Helper functions
 	 */
 //===============================================================
-	/**
-	 * a function that checks whether a linked list contains an array
-	 * @param list: the list
-	 * @param array: the array
-	 * @return true/false
-	 */
-	public boolean contain(LinkedList<int[]> list, int[] array){
-		for(int[] el: list){
-			if(Arrays.equals(array, el)){
-				return true;
-			}
-		}
-		return false;
-	}
-
 	/**
 	 * a function that removes all invalid tiles element from safe/unvisited tiles list.
 	 * A tile is invalid if it's outside of the borders of the board
@@ -75,30 +84,24 @@ public class MyAI extends Agent {
 	 * @param unvisited: not yet visited tiles
 	 * @param KB: the knowledge base
 	 */
-	public void removeInvalidTiles(LinkedList<int[]> safe, LinkedList<int[]> unvisited, PlBeliefSet KB) {
+	public void removeInvalidTiles(TileSet safe, TileSet unvisited, KnowledgeBase KB) {
 		if (dir == 0) {
 			for (int row = 0; row < topMostRow; ++row) {
 				int[] tile = {rightMostCol, row};
-				KB.add(new Negation(constructPropArray("P", tile)));
-				KB.add(new Negation(constructPropArray("W", tile)));
-				if (contain(safe, tile)) {
-					safe.removeIf(el -> Arrays.equals(el, tile));
-				}
-				if (contain(unvisited, tile)) {
-					unvisited.removeIf(el -> Arrays.equals(el, tile));
-				}
+				KB.addClause(-varArray(PropTable.PIT, tile));
+				KB.addClause(-varArray(PropTable.WUMPUS, tile));
+				safe.remove(tile);
+				unvisited.remove(tile);
+				frontier.remove(tile);
 			}
 		} else if (dir == 3) {
 			for (int col = 0; col < rightMostCol; ++col) {
 				int[] tile = {col, topMostRow};
-				KB.add(new Negation(constructPropArray("P", tile)));
-				KB.add(new Negation(constructPropArray("W", tile)));
-				if (contain(safe, tile)) {
-					safe.removeIf(el -> Arrays.equals(el, tile));
-				}
-				if (contain(unvisited, tile)) {
-					unvisited.removeIf(el -> Arrays.equals(el, tile));
-				}
+				KB.addClause(-varArray(PropTable.PIT, tile));
+				KB.addClause(-varArray(PropTable.WUMPUS, tile));
+				safe.remove(tile);
+				unvisited.remove(tile);
+				frontier.remove(tile);
 			}
 		}
 	}
@@ -198,26 +201,24 @@ public class MyAI extends Agent {
 		return res;
 	}
 	/**
-	 * functions that create proposition from a string, column and row
-	 * @param s: the string
+	 * functions that return the propositional variable of a kind at a tile
+	 * @param kind: PropTable.PIT, WUMPUS, BREEZE or STENCH
 	 * @param col: column
 	 * @param row: row
-	 * @return proposition of the form string_[col, row]
+	 * @return variable id from the interned table; its negation is -id
 	 */
-	public Proposition constructProp(String s, int col, int row){
-		String p = s + "_[" + col + ", " + row + "]";
-		return new Proposition(p);
+	public int var(int kind, int col, int row){
+		return vars.id(kind, col, row);
 	}
 
 	/**
-	 * functions that create proposition from a string and array
-	 * @param s: the string
-	 * @param arr: the array
-	 * @return proposition of the form string_array
-	 */
-	public Proposition constructPropArray(String s, int[] arr){
-		String p = s + "_" + Arrays.toString(arr);
-		return new Proposition(p);
+	 * functions that return the propositional variable of a kind at a tile
+	 * @param kind: PropTable.PIT, WUMPUS, BREEZE or STENCH
+	 * @param arr: the tile
+	 * @return variable id from the interned table; its negation is -id
+	 */
+	public int varArray(int kind, int[] arr){
+		return vars.id(kind, arr[0], arr[1]);
 	}
 
 	/**
@@ -268,8 +269,8 @@ public class MyAI extends Agent {
 	 * @param current: location of agent
 	 * @return closest: the tile closest to current location
 	 */
-	public int[] closestTile(LinkedList<int[]> unvisited, int[] current){
-		int[] closest = unvisited.get(0); // assume first tile is closest tile
+	public int[] closestTile(TileSet unvisited, int[] current){
+		int[] closest = unvisited.iterator().next(); // assume first tile is closest tile
 		double minDist = distance(current, closest); // distance to current
 		for(int[] tile: unvisited){
 			double dist = distance(current, tile);
@@ -301,82 +302,100 @@ public class MyAI extends Agent {
 	 * @param KB empty knowledge base
 	 * @return KB filled with axioms
 	 */
-	public PlBeliefSet initKB(PlBeliefSet KB){
-		SatSolver.setDefaultSolver(new Sat4jSolver());
-
-		// initializing a KB for a 7x7 world
-		int numCols = 8;
-		int numRows = 8;
+	public KnowledgeBase initKB(KnowledgeBase KB){
+		// initializing a KB for the grid of the variable table
+		int numCols = vars.getCols();
+		int numRows = vars.getRows();
 
 		// there is no pit or wumpus in [0, 0]
-		Negation noPit = new Negation(constructProp("P", 0, 0));
-		Negation noWumpus = new Negation(constructProp("W", 0, 0));
-		KB.add(noPit, noWumpus);
+		KB.addClause(-var(PropTable.PIT, 0, 0));
+		KB.addClause(-var(PropTable.WUMPUS, 0, 0));
 
-		// there is exactly one wumpus:
-		// first 1: the wumpus must be in one of the tiles
-		Disjunction atLeastOneWumpus = new Disjunction();
+		// there is exactly one wumpus: it must be in one of the tiles, and there is at most one
+		int[] wumpus = new int[numCols*numRows];
+		int n = 0;
 		for(int col = 0; col < numCols; ++col){
 			for(int row = 0; row < numRows; ++row){
-				Proposition p = constructProp("W", col, row);
-				atLeastOneWumpus.add(p);
-
-				// part 2: there is at most one wumpus
-				// for each pair of tiles, only one of them can contain the wumpus
-				for(int i = row; i < numRows; ++i){
-					for(int j = col+1; j < numCols; ++j) {
-						Negation n1 = new Negation(constructProp("W", col, row));
-						Negation n2 = new Negation(constructProp("W", j, i));
-						Disjunction d = new Disjunction(n1, n2);
-						KB.add(d);
-					}
-				}
+				wumpus[n++] = var(PropTable.WUMPUS, col, row);
 			}
 		}
-		KB.add(atLeastOneWumpus);
+		KB.addExactlyOne(wumpus, encoding);
 		return KB;
 	}
 
+	/**
+	 * Function that returns the shared initial knowledge base of the current bound, building it on first use
+	 */
+	private KnowledgeBase template(){
+		PropTable table = vars;
+		return TEMPLATES.computeIfAbsent(List.of(bound, encoding, backend),
+				key -> initKB(new KnowledgeBase(table.size(), backend)).share());
+	}
+
+	/**
+	 * Function that moves the knowledge base onto a grid twice as large once the believed board
+	 * reaches the bound, so every tile the agent reasons about, up to column rightMostCol and row
+	 * topMostRow, has its variables. What was told so far is told again with the new variables
+	 */
+	public void growBound(){
+		if(rightMostCol < bound && topMostRow < bound){
+			return;
+		}
+		PropTable old = vars;
+		while(rightMostCol >= bound || topMostRow >= bound){
+			bound *= 2;
+		}
+		PropTable table = PropTable.forBounds(bound, bound);
+		vars = table;
+		KB = KB.regrid(template(), id -> table.id(old.kind(id), old.col(id), old.row(id)));
+	}
+
 	/**
 	 * Function that adds the equivalence of having pits in the neighbors if current tile is breezy
 	 * @param KB knowledge base
 	 */
-	public void nextToPit(PlBeliefSet KB){
+	public void nextToPit(KnowledgeBase KB){
 		int[] currentLoc = {currentCol, currentRow};
 		// first, tell KB that no pit is in current
-		KB.add(new Negation(constructPropArray("P", currentLoc)));
+		KB.addClause(-varArray(PropTable.PIT, currentLoc));
 
 		LinkedList<int[]> neighbors = neighbors(currentLoc);
-		Disjunction dP = new Disjunction();
-		for(int[] nb: neighbors){
-			if(!contain(safe, nb)) {
-				dP.add(constructPropArray("P", nb));
-			}
-		}
-		Proposition B = constructPropArray("B", currentLoc);
-		Equivalence eP = new Equivalence(B, dP);
-		KB.add(eP.toCnf());
+		int B = varArray(PropTable.BREEZE, currentLoc);
+		addEquivalence(KB, B, PropTable.PIT, neighbors);
 	}
 
 	/**
 	 * Function that adds the equivalence of having wumpus in a neighbor if current tile is stenchy
 	 * @param KB knowledge base
 	 */
-	public void nextToWumpus(PlBeliefSet KB){
+	public void nextToWumpus(KnowledgeBase KB){
 		int[] currentLoc = {currentCol, currentRow};
 		// first, tell KB that no wumpus is in current
-		KB.add(new Negation(constructPropArray("W", currentLoc)));
+		KB.addClause(-varArray(PropTable.WUMPUS, currentLoc));
 
 		LinkedList<int[]> neighbors = neighbors(currentLoc);
-		Disjunction dW = new Disjunction();
+		int S = varArray(PropTable.STENCH, currentLoc);
+		addEquivalence(KB, S, PropTable.WUMPUS, neighbors);
+	}
+
+	/**
+	 * Function that adds head <=> (X_n1 v ... v X_nk), over the neighbors not known to be safe,
+	 * which join the frontier
+	 * @param KB knowledge base
+	 * @param head: the percept variable, B or S of the current tile
+	 * @param kind: kind of the neighbor variables, PropTable.PIT or WUMPUS
+	 * @param neighbors: neighboring tiles
+	 */
+	public void addEquivalence(KnowledgeBase KB, int head, int kind, LinkedList<int[]> neighbors){
+		int[] someNeighbor = new int[neighbors.size()];
+		int n = 0;
 		for(int[] nb: neighbors){
-			if(!contain(safe, nb)) {
-				dW.add(constructPropArray("W", nb));
+			if(!safe.contains(nb)) {
+				someNeighbor[n++] = varArray(kind, nb);
+				frontier.add(nb);
 			}
 		}
-		Proposition S = constructPropArray("S", currentLoc);
-		Equivalence eP = new Equivalence(S, dW);
-		KB.add(eP.toCnf());
+		KB.addEquivalence(head, Arrays.copyOf(someNeighbor, n));
 	}
 
 	/**
@@ -386,8 +405,7 @@ public class MyAI extends Agent {
 	 * @param safe: safe tiles
 	 * @param unvisited: unvisited tiles
 	 */
-	public void perceived(LinkedList<Boolean> percepts, PlBeliefSet KB, LinkedList<int[]> safe,
-						  LinkedList<int[]> unvisited){
+	public void perceived(LinkedList<Boolean> percepts, KnowledgeBase KB, TileSet safe, TileSet unvisited){
 		boolean stench = percepts.get(0);
 		boolean breeze = percepts.get(1);
 		boolean glitter = percepts.get(2);
@@ -421,15 +439,15 @@ public class MyAI extends Agent {
 
 		// if stench, then current tile has wumpus nearby, otherwise add no stench in current:
 		if(stench){
-			KB.add(constructProp("S", currentCol, currentRow));
+			KB.addClause(var(PropTable.STENCH, currentCol, currentRow));
 		}
-		else{KB.add(new Negation(constructProp("S", currentCol, currentRow)));}
+		else{KB.addClause(-var(PropTable.STENCH, currentCol, currentRow));}
 
 		// if breeze, then there is a pit nearby, otherwise add no breeze in current:
 		if(breeze){
-			KB.add(constructProp("B", currentCol, currentRow));
+			KB.addClause(var(PropTable.BREEZE, currentCol, currentRow));
 		}
-		else{KB.add(new Negation(constructProp("B", currentCol, currentRow)));}
+		else{KB.addClause(-var(PropTable.BREEZE, currentCol, currentRow));}
 
 		// if scream, then wumpus is martyred:
 		if(scream){
@@ -443,7 +461,7 @@ public class MyAI extends Agent {
 	 * @param action the taken action
 	 * @param percepts: the percepts
 	 */
-	public void performedAction(PlBeliefSet KB, Action action, LinkedList<Boolean> percepts){
+	public void performedAction(KnowledgeBase KB, Action action, LinkedList<Boolean> percepts){
 		boolean stench = percepts.get(0);
 		boolean breeze = percepts.get(1);
 		boolean glitter = percepts.get(2);
@@ -484,13 +502,64 @@ public class MyAI extends Agent {
 		}
 	}
 
+	/**
+	 * Function that returns the backbone the scans read: over the pit and wumpus variables of the
+	 * frontier and of one far tile. A far tile, not known to be safe and not on the frontier, is in
+	 * no told constraint but the one wumpus, which treats all of them alike, so what the knowledge
+	 * base entails about one far tile it entails about every far tile
+	 * @param KB: the knowledge base
+	 * @return the backbone, ask it about scanVar(kind, col, row)
+	 */
+	public Backbone frontierBackbone(KnowledgeBase KB){
+		int[] dims = currentDims();
+		farTile = null;
+		for(int col = 0; col < dims[0] && farTile == null; ++col) {
+			for (int row = 0; row < dims[1]; ++row) {
+				if (!safe.contains(col, row) && !frontier.contains(col, row)) {
+					farTile = new int[]{col, row};
+					break;
+				}
+			}
+		}
+		BitSet scope = new BitSet();
+		for(int[] tile: frontier){
+			scope.set(varArray(PropTable.PIT, tile));
+			scope.set(varArray(PropTable.WUMPUS, tile));
+		}
+		if(farTile != null){
+			scope.set(varArray(PropTable.PIT, farTile));
+			scope.set(varArray(PropTable.WUMPUS, farTile));
+		}
+		return KB.backbone(scope);
+	}
+
+	/**
+	 * Function that returns the variable a scan asks the frontier backbone about, for a tile not
+	 * known to be safe: the tile's own on the frontier, the far tile's elsewhere
+	 * @param kind: PropTable.PIT or WUMPUS
+	 * @param col: column
+	 * @param row: row
+	 * @return variable id
+	 */
+	public int scanVar(int kind, int col, int row){
+		int own = var(kind, col, row); // fails early on a tile outside the grid
+		if(frontier.contains(col, row)){
+			return own;
+		}
+		if(farTile == null){
+			throw new IllegalStateException("no far tile stands for [" + col + ", " + row + "] in the last frontier backbone");
+		}
+		return var(kind, farTile[0], farTile[1]);
+	}
+
 	/**
 	 * Function that finds and returns all the safe  neighboring tiles to current
 	 * @param KB the knowledge base
 	 * @param safe: list of safe tiles
 	 * @return safe: a list of safe tiles
 	 */
-	public LinkedList<int[]> safeTiles(PlBeliefSet KB, LinkedList<int[]> safe){
+	public TileSet safeTiles(KnowledgeBase KB, TileSet safe){
+		Backbone backbone = frontierBackbone(KB);
 		int lowCol = 0;
 		int lowRow = 0;
 		int upCol = currentCol+1;
@@ -511,19 +580,21 @@ public class MyAI extends Agent {
 		for(int col = lowCol; col <= upCol; ++col) {
 			for (int row = lowRow; row <= upRow; ++row) {
 				int[] nb = {col, row};
-				if (!contain(safe, nb)) {
-					Negation nW = new Negation(constructPropArray("W", nb));
-					Negation nP = new Negation(constructPropArray("P", nb));
+				if (!safe.contains(nb)) {
+					int nW = -scanVar(PropTable.WUMPUS, col, row);
+					int nP = -scanVar(PropTable.PIT, col, row);
 
 					// a tile is safe if it can be deduced that it doesn't contain a pit or wumpus
-					if (reasoner.query(KB, nP)) {
+					if (backbone.entails(nP)) {
 						if (wumpusAlive) {
-							if (reasoner.query(KB, nW)) {
+							if (backbone.entails(nW)) {
 								safe.add(nb);
+								frontier.remove(nb);
 							}
 						}
 						if(!wumpusAlive){
 							safe.add(nb);
+							frontier.remove(nb);
 						}
 					}
 				}
@@ -533,27 +604,14 @@ public class MyAI extends Agent {
 	}
 
 	/**
-	 * Function that creates a board where all non-safe tiles contain a pit
-	 * @param safe list of safe tiles
-	 * @return board: the corresponding board
+	 * Function that brings the board where all non-safe tiles contain a pit to the current dimensions,
+	 * and clears the marks of the last step
+	 * @return board: the believed board
 	 */
-	public World.Tile[][] safeBoard(LinkedList<int[]> safe) {
+	public BeliefBoard safeBoard() {
 		int[] dims = currentDims();
-		int columns = dims[0];
-		int rows = dims[1];
-		board = new World.Tile[columns][rows];
-		for(int col = 0; col < columns; ++col) {
-			for (int row = 0; row < rows; ++row) {
-					int[] t = {col, row};
-					if (contain(safe, t)) {
-						board[col][row] = new World.Tile();
-					} else {
-						board[col][row] = new World.Tile();
-						board[col][row].setPit();
-					}
-				}
-			}
-		return board;
+		belief.reset(dims[0], dims[1]);
+		return belief;
 	}
 
 	/**
@@ -562,10 +620,9 @@ public class MyAI extends Agent {
 	 * @param safe: list of safe tiles
 	 * @return unvisited: the corresponding board
 	 */
-	public LinkedList<int[]> unvisitedTiles(LinkedList<int[]> visited,LinkedList<int[]> unvisited,
-											LinkedList<int[]> safe){
+	public TileSet unvisitedTiles(TileSet visited, TileSet unvisited, TileSet safe){
 		for(int[] a: safe){
-			if(!contain(visited, a) && !contain(unvisited, a)){
+			if(!visited.contains(a)){
 				unvisited.add(a);
 			}
 		}
@@ -573,24 +630,24 @@ public class MyAI extends Agent {
 	}
 
 	/**
-	 * Function that looks for tiles that may have a wumpus. If there are more than one tile, it returns any of them
+	 * Function that looks for tiles known to be pit-free that may have a wumpus, the plan to shoot walks
+	 * into the tile. If there are more than one tile, it returns any of them
 	 * @param KB: the knowledge base
-	 * @param board: safeBoard needs to be changed so that the chosen tile has a wumpus
+	 * @param board: the believed board, the chosen tile gets marked as the wumpus
 	 * @return wumpusLoc: the tile that contains/may contain the wumpus
 	 */
-	public int[] possibleWumpusLoc(PlBeliefSet KB, World.Tile[][] board){
+	public int[] possibleWumpusLoc(KnowledgeBase KB, BeliefBoard board){
+		Backbone backbone = frontierBackbone(KB);
 		int[] dims = currentDims();
 		int columns = dims[0];
 		int rows = dims[1];
 		// first looking for the real wumpus location
 		for(int col = 0; col < columns; ++col) {
 			for (int row = 0; row < rows; ++row) {
-				int[] t = {col, row};
-				if (!contain(safe, t)) {
-					if (reasoner.query(KB, new Negation(constructProp("P", col, row)))) {
-						if(reasoner.query(KB, constructProp("W", col, row))){
-							board[col][row].setWumpus();
-							board[col][row].unSetPit();
+				if (!safe.contains(col, row)) {
+					if (backbone.entails(-scanVar(PropTable.PIT, col, row))) {
+						if(backbone.entails(scanVar(PropTable.WUMPUS, col, row))){
+							board.markWumpus(col, row);
 							return new int[]{col, row};
 						}
 					}
@@ -601,13 +658,11 @@ public class MyAI extends Agent {
 		for(int col = 0; col < columns; ++col) {
 			for (int row = 0; row < rows; ++row) {
 				// if a non-safe tile is not known to be wumpus-free, then it may have a wumpus
-				int[] t = {col, row};
-				if (!contain(safe, t)) {
-					if (!reasoner.query(KB, new Negation(constructProp("W", col, row)))) {
-						board[col][row].setWumpus();
-						// if it is not known for sure that a pit is in the tile, then return it
-						if (!reasoner.query(KB, (constructProp("P", col, row)))) {
-							board[col][row].unSetPit();
+				if (!safe.contains(col, row)) {
+					if (!backbone.entails(-scanVar(PropTable.WUMPUS, col, row))) {
+						// the plan walks into the tile after the shot, so it must be known to be pit-free
+						if (backbone.entails(-scanVar(PropTable.PIT, col, row))) {
+							board.markWumpus(col, row);
 							return new int[]{col, row};
 						}
 					}
@@ -623,19 +678,20 @@ public class MyAI extends Agent {
 	 * @param safe: list of safe tiles so far found
 	 * @return non-safe tile
 	 */
-	public LinkedList<int[]> nonSafeTile(PlBeliefSet KB, LinkedList<int[]> safe){
+	public TileSet nonSafeTile(KnowledgeBase KB, TileSet safe){
 		int[] dims = currentDims();
 		int columns = dims[0];
 		int rows = dims[1];
-		LinkedList<int[]> nonSafe = new LinkedList<>();
+		TileSet nonSafe = new TileSet(rows);
+		Backbone backbone = frontierBackbone(KB);
 		for(int col = 0; col < columns; ++col) {
 			for (int row = 0; row < rows; ++row) {
 				int[] t = {col, row};
 				// if t is not safe and does not contain a pit, then return it
-				if (!contain(safe, t)) {
-					if (!reasoner.query(KB, constructProp("P", col, row))) {
+				if (!safe.contains(t)) {
+					if (!backbone.entails(scanVar(PropTable.PIT, col, row))) {
 						// we have also to be sure that there is no wumpus
-						if (!reasoner.query(KB, constructProp("W", col, row))) {
+						if (!backbone.entails(scanVar(PropTable.WUMPUS, col, row))) {
 							nonSafe.add(t);
 						}
 					}
@@ -648,25 +704,31 @@ public class MyAI extends Agent {
 //===============================================================
 	/*
 	 * necessary variables:
-	 * KB: the knowledge base
-	 * reasoner: a reasoner for reasoning tasks. Uses Sat4jSolver as SAT solver
+	 * KB: the knowledge base, an incremental SAT session with a propagator in front, owned by this agent
 	 * safe: list of safe tiles
 	 * visited: tiles already visited
 	 * unvisited: tiles yet to be visited
+	 * belief: the board the agent plans on
 	 * plan: current plan
 	 * mySearch: a SearchAI instance
+	 * homeField: distances from every state to [0, 0] over the safe tiles
+	 * explorer: incremental planner to the closest unvisited tile, null (the default) to search to each tile with A*
 	 */
 //===============================================================
-	// initializing the knowledge base and filling it with axioms
-	PlBeliefSet KB = initKB(new PlBeliefSet());
+	// initializing the knowledge base and filling it with axioms.
+	// The session keeps one solver for the whole episode: clauses are encoded once, when told,
+	// and a query the propagator cannot decide is a solve under an assumption on that solver
+	KnowledgeBase KB;
 
-	// creating a reasoner
-	SatReasoner reasoner = new SatReasoner();
+	// sets of safe, visited, unvisited and frontier tiles
+	TileSet safe = new TileSet(BOUND);
+	TileSet visited = new TileSet(BOUND); // visited tiles
+	TileSet unvisited = new TileSet(BOUND); // unvisited tiles
+	TileSet frontier = new TileSet(BOUND); // tiles not known to be safe next to a perceived tile
+	int[] farTile = null; // the tile standing for all tiles off the frontier in the last scan
 
-	// lists of safe, visited, unvisited and stenchy tiles
-	LinkedList<int[]> safe = new LinkedList<>();
-	LinkedList<int[]> visited = new LinkedList<>(); // visited tiles
-	LinkedList<int[]> unvisited = new LinkedList<>(); // unvisited tiles
+	// the board where only safe tiles are pit-free, a view of the safe tiles
+	BeliefBoard belief = new BeliefBoard(safe);
 
 	// plan
 	LinkedList<Action> plan = new LinkedList<>(); // planning a sequence of actions
@@ -674,6 +736,62 @@ public class MyAI extends Agent {
 	// a SearchAI object, in order to reach the methods of that class
 	SearchAI mySearch = new SearchAI();
 
+	// the way home, kept up to date as the safe region grows, so going home needs no search
+	DistanceField homeField = new DistanceField(0, 0);
+
+	// plans to the closest unvisited tile, keeping its search from one plan to the next, so a plan
+	// only costs as much as the safe region changed since the last one; off unless chosen, see below
+	DStarLite explorer = null;
+
+	/**
+	 * Function that chooses how the agent plans to unvisited tiles. D* Lite needs a goal that stays from
+	 * one plan to the next, so it plans to the closest of all unvisited tiles by the cost of the path,
+	 * where A* plans to the tile closest as the crow flies: the agent may explore in another order
+	 * @param incremental: true to plan with D* Lite to the closest of all unvisited tiles, false (the
+	 *                     default) to plan with A* to the unvisited tile closest as the crow flies
+	 */
+	public void setIncrementalPlanning(boolean incremental){
+		explorer = incremental ? new DStarLite(BOUND, BOUND) : null;
+	}
+
+	/**
+	 * Function that prepares the agent for another world: the knowledge base starts again from the
+	 * shared template of the first bound with the same settings, and the tile sets, the belief board, the plan and the
+	 * planners are cleared and reused
+	 * @return true, the agent can always be reset
+	 */
+	@Override
+	public boolean reset(){
+		leftMostCol = 0;
+		rightMostCol = 3;
+		bottomMostRow = 0;
+		topMostRow = 3;
+		rightBorderNotFound = true;
+		topBorderNotFound = true;
+		currentCol = 0;
+		currentRow = 0;
+		dir = 0;
+		hasArrow = true;
+		goldFound = false;
+		wumpusAlive = true;
+		lastAction = Action.CLIMB;
+		bound = BOUND;
+		vars = PropTable.forBounds(BOUND, BOUND);
+		KB = KB.restart(template());
+		safe.clear();
+		visited.clear();
+		unvisited.clear();
+		frontier.clear();
+		farTile = null;
+		belief.reset(0, 0);
+		plan.clear();
+		homeField.reset();
+		if(explorer != null){
+			explorer.reset();
+		}
+		return true;
+	}
+
 
 //===============================================================
 	/*
@@ -696,6 +814,7 @@ public class MyAI extends Agent {
 
 		// first thing, update variables after last performed action
 		performedAction(KB, lastAction, percepts);
+		growBound();
 
 		// current tile
 		int[] current = {currentCol, currentRow};
@@ -704,27 +823,26 @@ public class MyAI extends Agent {
 		boolean offline = false;
 
 		// if agent is in a tile for first time or it bumped or heard scream, then process the precepts
-		if(!contain(visited, current) || bump || scream) {
+		if(!visited.contains(current) || bump || scream) {
 			perceived(percepts, KB, safe, unvisited);
 			// if current tile not already in the safe list, then add it
-			if(!contain(safe, current)) {
-				safe.add(current);
-			}
+			safe.add(current);
+			frontier.remove(current);
 			// tiles known to be safe
-			safe = safeTiles(KB, safe);
+			safeTiles(KB, safe);
 			// add current tile to visited ones
 			visited.add(current);
 		}
 
 		// a board where only safe tiles are pit-free
-		World.Tile[][] safeBoard = safeBoard(safe);
+		BeliefBoard safeBoard = safeBoard();
+		homeField.update(safeBoard);
 
 		// if gold is found, then continue to follow the plan or create a plan
 		if(goldFound){
 			if(plan.size() == 0){
-				int[] dest = {0, 0};
 				//make plan
-				plan = mySearch.aStarSearch(board, current, dest, hasArrow, dir, offline);
+				plan = homeField.plan(current, dir);
 				plan.add(0, Action.GRAB); // add grab as first action
 				plan.add(Action.CLIMB); // climb out as last action
 			}
@@ -735,7 +853,19 @@ public class MyAI extends Agent {
 			unvisited = unvisitedTiles(visited, unvisited, safe);
 
 			// if there are still tiles not visited, then go to the closest one
-			if(unvisited.size() > 0) {
+			if(unvisited.size() > 0 && explorer != null) {
+				explorer.update(safeBoard, unvisited);
+				plan = explorer.plan(current, dir);
+				if(explorer.getLastGoal()[0] < 0){
+					// no unvisited tile can be reached, the plan is a CLIMB where the agent stands:
+					// drop it, so shooting or going home is planned below instead of the same CLIMB every turn
+					plan.clear();
+				}
+				else{
+					unvisited.remove(explorer.getLastGoal());
+				}
+			}
+			else if(unvisited.size() > 0) {
 				int[] closest = closestTile(unvisited, current);
 				plan = mySearch.aStarSearch(safeBoard, current, closest, hasArrow, dir, offline);
 			}
@@ -759,12 +889,12 @@ public class MyAI extends Agent {
 		// riskTaking >= 1.0 means not taking any chances
 		double riskTaking = Math.random();
 		if(plan.size() == 0 && riskTaking >= 1.0) {
-			LinkedList<int[]> nonSafes = nonSafeTile(KB, safe);
+			TileSet nonSafes = nonSafeTile(KB, safe);
 			while (nonSafes.size() > 0) {
 				int[] dest = closestTile(nonSafes, current);
-				safeBoard[dest[0]][dest[1]].unSetPit();
+				safeBoard.open(dest[0], dest[1]);
 				plan = mySearch.aStarSearch(safeBoard, current, dest, hasArrow, dir, offline);
-				safeBoard[dest[0]][dest[1]].setPit();
+				safeBoard.close();
 				if (!(plan.size() == 1 && plan.get(0) == Action.CLIMB)) {
 					break;
 				} else {
@@ -777,8 +907,7 @@ public class MyAI extends Agent {
 
 		// if plan is empty: go back home
 		if(plan.size() == 0){
-			int[] dest = {0, 0};
-			plan = mySearch.aStarSearch(safeBoard, current, dest, hasArrow, dir, offline);
+			plan = homeField.plan(current, dir);
 			plan.add(Action.CLIMB);
 		}
 
@@ -0,0 +1,117 @@
+package partialObservability;
+
+// DESCRIPTION: Compares the ways MyAI plans to unvisited tiles: A* to the
+//              unvisited tile closest as the crow flies, searched from scratch
+//              for every plan, and D* Lite to the closest of all unvisited
+//              tiles, which keeps its search from one plan to the next.
+//              For each planner, MyAI plays every world of a folder. The
+//              benchmark reports the average score, the mean number of
+//              actions, the mean time of an episode and, for D* Lite, the
+//              mean number of states expanded per plan.
+//              D* Lite is also run with a new search for every plan. Its
+//              repairs must give the same plans as searching from scratch,
+//              so the actions of both must be the same on every world: the
+//              program ends with status 1 otherwise. The worlds where D* Lite
+//              explores in another order than A* are only counted.
+//
+//              Syntax:
+//
+//                	PlannerBenchmark WorldFolder [Repetitions]
+//
+//              The folder is played once per planner to warm up the JIT,
+//              then Repetitions times (default 3) for the measurement.
+// ======================================================================
+
+import fullObservability.BoardView;
+import fullObservability.DStarLite;
+import wumpus.Agent;
+
+import java.io.File;
+import java.util.LinkedList;
+
+public class PlannerBenchmark
+{
+	public static void main ( String[] args ) throws Exception
+	{
+		if ( args.length == 0 )
+		{
+			System.out.println ( "PlannerBenchmark WorldFolder [Repetitions]" );
+			return;
+		}
+
+		File[] worlds = FolderRun.worlds ( args[0] );
+		if ( worlds == null )
+			return;
+		int repetitions = args.length >= 2 ? Integer.parseInt ( args[1] ) : 3;
+
+		FolderRun aStar = FolderRun.play ( worlds, repetitions, MyAI::new );
+		FolderRun incremental = FolderRun.play ( worlds, repetitions, ( ) -> agent ( new DStarLite ( MyAI.BOUND, MyAI.BOUND ) ) );
+		FolderRun scratch = FolderRun.play ( worlds, repetitions, ( ) -> agent ( new ScratchPlanner() ) );
+
+		report ( "A*", aStar );
+		report ( "D* Lite", incremental );
+		System.out.println ( "\tworlds with other actions than A*: " + incremental.differing ( aStar ) );
+		report ( "D* Lite, a new search per plan", scratch );
+		int differing = scratch.differing ( incremental );
+		System.out.println ( "\tworlds with other actions than D* Lite: " + differing );
+		FolderRun.exitIfDiffering ( differing );
+	}
+
+	private static void report ( String planner, FolderRun run )
+	{
+		System.out.println ( planner + ":" );
+		System.out.println ( "\taverage score: " + (double) run.scores / run.episodes );
+		System.out.println ( "\tactions per episode (mean): " + (double) run.actions / run.episodes );
+		System.out.printf ( "\tepisode time (mean): %.2f msec%n", run.nanos / 1e6 / run.episodes );
+		if ( run.plans > 0 )
+			System.out.printf ( "\tstates expanded per plan (mean): %.1f%n", (double) run.expanded / run.plans );
+	}
+
+	private static MyAI agent ( DStarLite explorer )
+	{
+		MyAI agent = new MyAI();
+		agent.explorer = explorer;
+		return agent;
+	}
+
+	/**
+	 * D* Lite that forgets its search before every update, so every plan is
+	 * searched from scratch
+	 */
+	private static class ScratchPlanner extends DStarLite
+	{
+		private DStarLite	search;
+		private long		expanded	= 0;
+		private long		plans		= 0;
+
+		ScratchPlanner ( )
+		{
+			super ( 1, 1 );
+		}
+
+		@Override
+		public void update ( BoardView board, Iterable<int[]> goals )
+		{
+			search = new DStarLite ( board.getCols(), board.getRows() );
+			search.update ( board, goals );
+		}
+
+		@Override
+		public LinkedList<Agent.Action> plan ( int[] current, int dir )
+		{
+			LinkedList<Agent.Action> plan = search.plan ( current, dir );
+			expanded += search.getLastExpanded();
+			++plans;
+			return plan;
+		}
+
+		@Override
+		public int[] getLastGoal ( )	{ return search.getLastGoal(); }
+
+		@Override
+		public long getExpanded ( )		{ return expanded; }
+
+		@Override
+		public long getPlans ( )		{ return plans; }
+	}
+}
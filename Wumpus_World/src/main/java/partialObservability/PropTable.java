@@ -0,0 +1,108 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * Interned propositional variables of the knowledge base
+	 */
+//===============================================================
+
+package partialObservability;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+//===============================================================
+	/*
+	 * class PropTable:
+	 * maps every (kind, col, row) of a board to a dense integer variable 1..size(),
+	 * which is what the knowledge base and the solvers work on. The matching Tweety
+	 * Proposition, named like "P_[3, 4]", is built once and cached for printing and
+	 * for Tweety based reasoning. Tables are immutable and shared per board size.
+	 */
+//===============================================================
+public final class PropTable {
+	// kinds of variables
+	public static final int PIT = 0;
+	public static final int WUMPUS = 1;
+	public static final int BREEZE = 2;
+	public static final int STENCH = 3;
+	private static final String[] NAMES = {"P", "W", "B", "S"};
+
+	private static final ConcurrentHashMap<Long, PropTable> TABLES = new ConcurrentHashMap<>();
+
+	private final int cols;
+	private final int rows;
+	private final Proposition[] propositions; // propositions[id-1]
+
+	private PropTable(int cols, int rows){
+		this.cols = cols;
+		this.rows = rows;
+		propositions = new Proposition[NAMES.length * cols * rows];
+		for(int kind = 0; kind < NAMES.length; ++kind){
+			for(int col = 0; col < cols; ++col){
+				for(int row = 0; row < rows; ++row){
+					propositions[id(kind, col, row) - 1] = new Proposition(NAMES[kind] + "_[" + col + ", " + row + "]");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Function that returns the table of a board size, building it on first use
+	 * @param cols: number of columns
+	 * @param rows: number of rows
+	 * @return the shared table
+	 */
+	public static PropTable forBounds(int cols, int rows){
+		return TABLES.computeIfAbsent(((long) cols << 32) | rows, key -> new PropTable(cols, rows));
+	}
+
+	/**
+	 * Function that returns the variable of a kind at a tile
+	 * @param kind: PIT, WUMPUS, BREEZE or STENCH
+	 * @param col: column
+	 * @param row: row
+	 * @return variable id, at least 1
+	 * @throws IndexOutOfBoundsException: if the tile is not on the board of the table
+	 */
+	public int id(int kind, int col, int row){
+		if(col < 0 || col >= cols || row < 0 || row >= rows || kind < 0 || kind >= NAMES.length){
+			throw new IndexOutOfBoundsException("no variable of kind " + kind + " at [" + col + ", " + row + "] in a "
+					+ cols + "x" + rows + " table");
+		}
+		return 1 + (kind * cols + col) * rows + row;
+	}
+
+	public int kind(int id){
+		return (id - 1) / (cols * rows);
+	}
+
+	public int col(int id){
+		return (id - 1) / rows % cols;
+	}
+
+	public int row(int id){
+		return (id - 1) % rows;
+	}
+
+	/**
+	 * Function that returns the cached proposition of a variable
+	 * @param id: variable id
+	 * @return proposition of the form kind_[col, row]
+	 */
+	public Proposition proposition(int id){
+		return propositions[id - 1];
+	}
+
+	public int size(){
+		return propositions.length;
+	}
+
+	public int getCols(){
+		return cols;
+	}
+
+	public int getRows(){
+		return rows;
+	}
+}
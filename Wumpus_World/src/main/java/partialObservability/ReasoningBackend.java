@@ -0,0 +1,102 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * The solver behind the knowledge base of MyAI
+	 */
+//===============================================================
+
+package partialObservability;
+
+
+//===============================================================
+	/*
+	 * interface ReasoningBackend:
+	 * what the knowledge base needs from a solver: clauses over integer literals
+	 * (see PropTable) told once, entailment queries KB |= l and backbones. Every
+	 * backend gives the same answers, they differ only in how fast they are.
+	 * SAT4J keeps one Sat4j solver for the episode (SatSession), CDCL solves with
+	 * the small solver of this package (CdclBackend), TWEETY puts the clauses in
+	 * a Tweety belief set and asks its SatReasoner (TweetyBackend), and AUTO
+	 * starts on CDCL and moves to Sat4j once the knowledge base gets large
+	 * (BackendSelector).
+	 */
+//===============================================================
+public interface ReasoningBackend {
+	enum Kind {
+		SAT4J,
+		CDCL,
+		TWEETY,
+		AUTO
+	}
+
+	/**
+	 * Function that creates an empty backend
+	 * @param kind: the backend
+	 * @param numVars: number of variables, the literals used are in -numVars..numVars
+	 */
+	static ReasoningBackend create(Kind kind, int numVars){
+		switch (kind){
+			case CDCL:
+				return new CdclBackend(numVars);
+			case TWEETY:
+				return new TweetyBackend(numVars);
+			case AUTO:
+				return new BackendSelector(numVars);
+			default:
+				return new SatSession(numVars);
+		}
+	}
+
+	/**
+	 * Function that adds fresh variables, e.g. auxiliary variables of an encoding
+	 * @param count: how many variables
+	 * @return the first new variable, the others follow it
+	 */
+	int newVariables(int count);
+
+	/**
+	 * Function that adds a clause to the knowledge base
+	 * @param literals: the clause, a negative literal is a negated variable
+	 */
+	void addClause(int... literals);
+
+	/**
+	 * Function that checks whether the knowledge base entails a literal
+	 * @param literal: a variable, negative if negated
+	 * @return true if every model of the knowledge base satisfies the literal
+	 */
+	boolean entails(int literal);
+
+	/**
+	 * Function that computes every literal over the scope of a backbone the knowledge base entails
+	 * @param backbone: the literals known to be entailed so far, they are not tested again; gets the
+	 *                  backbone over its scope
+	 */
+	void backbone(Backbone backbone);
+
+	/**
+	 * Function that returns false once a told clause contradicts the knowledge base, a contradiction
+	 * that only a solve can find may not be noticed
+	 */
+	boolean isConsistent();
+
+	int getVariableCount();
+
+	int getClauseCount();
+
+	/**
+	 * Function that returns how many solves the backend ran
+	 */
+	int getQueryCount();
+
+	/**
+	 * Function that returns how many queries a cached model answered without a solve
+	 */
+	int getModelHits();
+
+	/**
+	 * Function that returns the time spent answering queries and backbones
+	 */
+	long getQueryNanos();
+}
@@ -0,0 +1,86 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * Incremental SAT session used as the agent's knowledge base
+	 */
+//===============================================================
+
+package partialObservability;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.minisat.core.ICDCL;
+import org.sat4j.minisat.core.IOrder;
+import org.sat4j.minisat.core.IPhaseSelectionStrategy;
+import org.sat4j.minisat.orders.PositiveLiteralSelectionStrategy;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.TimeoutException;
+
+
+//===============================================================
+	/*
+	 * class SatSession:
+	 * a knowledge base that lives in a single Sat4j solver for a whole episode,
+	 * the SAT4J backend. The queries, the backbone and the cache of models are
+	 * those of ModelCachingBackend.
+	 */
+//===============================================================
+public class SatSession extends ModelCachingBackend {
+	private final ISolver solver = SolverFactory.newDefault();
+	private final VecInt assumption = new VecInt(new int[1]); // reused buffer for the query literal
+	private final VecInt none = new VecInt();
+
+	/**
+	 * @param numVars: number of variables, the literals used are in -numVars..numVars
+	 */
+	public SatSession(int numVars){
+		super(numVars);
+		solver.newVar(numVars);
+	}
+
+	@Override
+	protected void allocate(int numVars){
+		solver.newVar(numVars);
+	}
+
+	@Override
+	protected boolean tell(int[] literals){
+		try {
+			// VecInt works on the array it is given, and the solver may reorder it
+			solver.addClause(new VecInt(literals));
+			return true;
+		} catch (ContradictionException e) {
+			return false;
+		}
+	}
+
+	@Override
+	protected boolean solve(int literal, boolean positivePhase){
+		VecInt assumptions = none;
+		if(literal != 0){
+			assumption.set(0, literal);
+			assumptions = assumption;
+		}
+		try {
+			if(!positivePhase || !(solver instanceof ICDCL)){
+				return solver.isSatisfiable(assumptions);
+			}
+			IOrder order = ((ICDCL<?>) solver).getOrder();
+			IPhaseSelectionStrategy phase = order.getPhaseSelectionStrategy();
+			order.setPhaseSelectionStrategy(new PositiveLiteralSelectionStrategy());
+			try {
+				return solver.isSatisfiable(assumptions);
+			} finally {
+				order.setPhaseSelectionStrategy(phase);
+			}
+		} catch (TimeoutException e) {
+			throw new IllegalStateException("SAT solver timed out", e);
+		}
+	}
+
+	@Override
+	protected boolean value(int var){
+		return solver.model(var);
+	}
+}
@@ -0,0 +1,124 @@
+package partialObservability;
+
+// DESCRIPTION: Measures what it costs to set up MyAI for a world, before its
+//              first action. For each encoding of the at-most-one-wumpus
+//              constraint, the benchmark builds an agent and a world for
+//              every world of a folder and plays it. It reports the mean time
+//              to construct the agent, which copies the shared initial
+//              knowledge base, next to the mean time initKB takes to build
+//              that knowledge base anew, the mean time to construct the world
+//              around the agent and the mean time of the episode that follows,
+//              then the mean time to load the world into one reused World
+//              instead (see World.reset). It also plays the folder with agents
+//              whose knowledge base is built anew, and in the reused World,
+//              and counts the worlds where they take other actions than agents
+//              on the shared knowledge base in new Worlds, which must be 0:
+//              the program ends with status 1 otherwise.
+//
+//              Syntax:
+//
+//                	StartupBenchmark WorldFolder [Repetitions]
+//
+//              The folder is played once per encoding to warm up the JIT,
+//              then Repetitions times (default 3) for the measurement.
+// ======================================================================
+
+import wumpus.Agent;
+import wumpus.World;
+import wumpus.WorldLayout;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StartupBenchmark
+{
+	public static void main ( String[] args ) throws Exception
+	{
+		if ( args.length == 0 )
+		{
+			System.out.println ( "StartupBenchmark WorldFolder [Repetitions]" );
+			return;
+		}
+
+		File[] worlds = FolderRun.worlds ( args[0] );
+		if ( worlds == null )
+			return;
+		int repetitions = args.length >= 2 ? Integer.parseInt ( args[1] ) : 3;
+
+		int differing = 0;
+		for ( Cardinality.Encoding encoding : Cardinality.Encoding.values() )
+		{
+			// plays the folder once per kind of agent, which also warms up the JIT
+			FolderRun shared = FolderRun.play ( worlds, 1, ( ) -> new MyAI ( encoding ) );
+			FolderRun built  = FolderRun.play ( worlds, 1, ( ) -> unshared ( encoding ) );
+			int other = built.differing ( shared );
+			differing += other;
+
+			long agentNanos = 0, initNanos = 0, worldNanos = 0, runNanos = 0, resetNanos = 0, clauses = 0;
+			int otherReused = 0;
+			World reused = null;
+			for ( int rep = 0; rep < repetitions; ++rep )
+			{
+				for ( File worldFile : worlds )
+				{
+					long start = System.nanoTime();
+					MyAI agent = new MyAI ( encoding );
+					long copied = System.nanoTime();
+					KnowledgeBase anew = agent.initKB ( new KnowledgeBase ( agent.vars.size(), agent.backend ) );
+					long initialized = System.nanoTime();
+					World world = new World ( false, agent, worldFile );
+					long ready = System.nanoTime();
+					world.run();
+					long done = System.nanoTime();
+					agentNanos += copied - start;
+					initNanos  += initialized - copied;
+					worldNanos += ready - initialized;
+					runNanos   += done - ready;
+					clauses    += anew.getClauseCount();
+				}
+				for ( int i = 0; i < worlds.length; ++i )
+				{
+					MyAI agent = new MyAI ( encoding );
+					long start = System.nanoTime();
+					WorldLayout layout = WorldLayout.read ( worlds[i] );
+					if ( reused == null )
+						reused = new World ( false, agent, worlds[i] );
+					else
+						reused.reset ( layout, agent );
+					resetNanos += System.nanoTime() - start;
+					List<Agent.Action> log = new ArrayList<>();
+					reused.logActions ( log );
+					reused.run();
+					if ( rep == 0 && !log.equals ( shared.logs.get(i) ) )
+						++otherReused;
+				}
+			}
+			differing += otherReused;
+
+			int episodes = repetitions * worlds.length;
+			System.out.println ( encoding + ":" );
+			System.out.printf ( "\tagent construction (mean): %.1f usec%n", agentNanos / 1000.0 / episodes );
+			System.out.printf ( "\tinitKB anew (mean): %.1f usec%n", initNanos / 1000.0 / episodes );
+			System.out.printf ( "\tworld construction (mean): %.1f usec%n", worldNanos / 1000.0 / episodes );
+			System.out.printf ( "\tepisode (mean): %.1f usec%n", runNanos / 1000.0 / episodes );
+			System.out.printf ( "\tworld reset (mean): %.1f usec%n", resetNanos / 1000.0 / episodes );
+			System.out.println ( "\tworlds with other actions on a KB built anew: " + other );
+			System.out.println ( "\tworlds with other actions in the reused World: " + otherReused );
+			System.out.println ( "\t(" + clauses + " clauses built anew)" );
+		}
+		FolderRun.exitIfDiffering ( differing );
+	}
+
+	/**
+	 * Function that makes an agent whose initial knowledge base initKB builds anew instead of taking
+	 * the shared one. It is made a template of its own, so the agent can still move it onto a
+	 * larger board
+	 */
+	private static MyAI unshared ( Cardinality.Encoding encoding )
+	{
+		MyAI agent = new MyAI ( encoding );
+		agent.KB = agent.initKB ( new KnowledgeBase ( agent.vars.size(), agent.backend ) ).share().copy();
+		return agent;
+	}
+}
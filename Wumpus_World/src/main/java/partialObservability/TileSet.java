@@ -0,0 +1,105 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * Set of tiles with constant time membership
+	 */
+//===============================================================
+
+package partialObservability;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+
+
+//===============================================================
+	/*
+	 * class TileSet:
+	 * a set of tiles [col, row]. Membership is a bit at col*stride + row, so
+	 * contains is a constant time lookup instead of a scan of a list. The tiles are
+	 * also kept in the order they were added, and iteration follows that order, so
+	 * code that picks the first of equally good tiles decides as it did with a list.
+	 * The bit set grows with the columns; a row beyond the stride widens the stride
+	 * and re-indexes the tiles.
+	 */
+//===============================================================
+public class TileSet implements Iterable<int[]> {
+	private final ArrayList<int[]> tiles = new ArrayList<>(); // in insertion order
+	private BitSet members = new BitSet();
+	private int stride; // number of rows the index reserves per column
+
+	/**
+	 * @param stride: expected number of rows of the board
+	 */
+	public TileSet(int stride){
+		this.stride = Math.max(1, stride);
+	}
+
+	public int size(){
+		return tiles.size();
+	}
+
+	public boolean isEmpty(){
+		return tiles.isEmpty();
+	}
+
+	public boolean contains(int col, int row){
+		return col >= 0 && row >= 0 && row < stride && members.get(col*stride + row);
+	}
+
+	public boolean contains(int[] tile){
+		return contains(tile[0], tile[1]);
+	}
+
+	/**
+	 * Function that adds a tile if it is not in the set yet
+	 * @param tile: the tile
+	 * @return true if the tile was added
+	 */
+	public boolean add(int[] tile){
+		if(contains(tile)){
+			return false;
+		}
+		if(tile[1] >= stride){
+			restride(Math.max(2*stride, tile[1] + 1));
+		}
+		members.set(tile[0]*stride + tile[1]);
+		tiles.add(tile);
+		return true;
+	}
+
+	/**
+	 * Function that removes a tile, keeping the order of the others
+	 * @param tile: the tile
+	 * @return true if the tile was in the set
+	 */
+	public boolean remove(int[] tile){
+		if(!contains(tile)){
+			return false;
+		}
+		members.clear(tile[0]*stride + tile[1]);
+		tiles.removeIf(el -> Arrays.equals(el, tile));
+		return true;
+	}
+
+	public void clear(){
+		tiles.clear();
+		members.clear();
+	}
+
+	@Override
+	public Iterator<int[]> iterator(){
+		return Collections.unmodifiableList(tiles).iterator();
+	}
+
+	private void restride(int newStride){
+		BitSet restrided = new BitSet();
+		for(int[] tile: tiles){
+			restrided.set(tile[0]*newStride + tile[1]);
+		}
+		members = restrided;
+		stride = newStride;
+	}
+}
@@ -0,0 +1,152 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * The knowledge base as a Tweety belief set
+	 */
+//===============================================================
+
+package partialObservability;
+import org.tweetyproject.logics.pl.reasoner.SatReasoner;
+import org.tweetyproject.logics.pl.sat.Sat4jSolver;
+import org.tweetyproject.logics.pl.syntax.Disjunction;
+import org.tweetyproject.logics.pl.syntax.Negation;
+import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+import java.util.ArrayList;
+
+
+//===============================================================
+	/*
+	 * class TweetyBackend:
+	 * the TWEETY backend, the way the agent first asked its knowledge base: every
+	 * clause becomes a Tweety disjunction in a PlBeliefSet, and every query is a
+	 * SatReasoner query, which hands the whole belief set to a fresh Sat4j solver
+	 * through Tweety's formula objects. Nothing is kept between queries, so a
+	 * backbone is a query per literal. It is the reference the other backends
+	 * are measured against.
+	 */
+//===============================================================
+public class TweetyBackend implements ReasoningBackend {
+	private final PlBeliefSet beliefs = new PlBeliefSet();
+	private final ArrayList<PlFormula> formulas = new ArrayList<>(); // the clauses of the belief set
+	private final Sat4jSolver solver = new Sat4jSolver();
+	private final SatReasoner reasoner = new SatReasoner(solver);
+	private final ArrayList<Proposition> propositions = new ArrayList<>(); // propositions.get(var - 1)
+	private boolean inconsistent = false;   // true once an empty clause is told
+	private int clauseCount = 0;
+	private int queryCount = 0;
+	private long queryNanos = 0;
+
+	/**
+	 * @param numVars: number of variables, the literals used are in -numVars..numVars
+	 */
+	public TweetyBackend(int numVars){
+		newVariables(numVars);
+	}
+
+	@Override
+	public int newVariables(int count){
+		int first = propositions.size() + 1;
+		for(int var = first; var < first + count; ++var){
+			propositions.add(new Proposition("x" + var));
+		}
+		return first;
+	}
+
+	@Override
+	public void addClause(int... literals){
+		++clauseCount;
+		if(literals.length == 0){
+			inconsistent = true;
+			return;
+		}
+		Disjunction clause = new Disjunction();
+		for(int literal: literals){
+			clause.add(formula(literal));
+		}
+		beliefs.add(clause);
+		formulas.add(clause);
+	}
+
+	@Override
+	public boolean entails(int literal){
+		if(inconsistent){
+			return true;
+		}
+		++queryCount;
+		long start = System.nanoTime();
+		try {
+			return reasoner.query(beliefs, formula(literal));
+		} finally {
+			queryNanos += System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Function that computes the backbone with a query per literal of the scope
+	 * @param backbone: the literals known to be entailed so far, they are not tested again; gets the
+	 *                  backbone over its scope
+	 */
+	@Override
+	public void backbone(Backbone backbone){
+		long start = System.nanoTime();
+		++queryCount;
+		boolean satisfiable = !inconsistent && solver.isSatisfiable(formulas);
+		queryNanos += System.nanoTime() - start;
+		if(!satisfiable){
+			backbone.markInconsistent();
+			return;
+		}
+		for(int var: backbone.variables()){
+			if(backbone.entails(var) || backbone.entails(-var)){
+				continue;
+			}
+			if(entails(var)){
+				backbone.add(var);
+			}
+			else if(entails(-var)){
+				backbone.add(-var);
+			}
+		}
+	}
+
+	private PlFormula formula(int literal){
+		Proposition proposition = propositions.get(Math.abs(literal) - 1);
+		return literal > 0 ? proposition : new Negation(proposition);
+	}
+
+	@Override
+	public boolean isConsistent(){
+		return !inconsistent;
+	}
+
+	@Override
+	public int getVariableCount(){
+		return propositions.size();
+	}
+
+	@Override
+	public int getClauseCount(){
+		return clauseCount;
+	}
+
+	@Override
+	public int getQueryCount(){
+		return queryCount;
+	}
+
+	/**
+	 * Function that returns 0, no models are kept
+	 */
+	@Override
+	public int getModelHits(){
+		return 0;
+	}
+
+	@Override
+	public long getQueryNanos(){
+		return queryNanos;
+	}
+}
@@ -0,0 +1,578 @@
+//===============================================================
+	/*
+	 * Artificial Intelligence: Wumpus Project
+	 * Partial Observability(Online) Part
+	 * Constraint propagation over the knowledge base of MyAI
+	 */
+//===============================================================
+
+package partialObservability;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+
+//===============================================================
+	/*
+	 * class WumpusPropagator:
+	 * decides most entailment queries of the knowledge base without a SAT call.
+	 * The facts are two bitboards over the variables of a PropTable, bit id-1 set
+	 * when the variable is known true or known false, so the block of one kind is a
+	 * bitboard of the grid. The constraints are the ones MyAI tells:
+	 *  - unit facts, e.g. no pit in [0, 0] or no breeze here
+	 *  - head <=> (x_1 v ... v x_k), a breeze or stench and its neighbors
+	 *  - exactly one of x_1..x_k, the wumpus
+	 *  - any other clause over the variables of the table
+	 * Propagation applies the local rules to a fixpoint: a false head clears its
+	 * neighbors, a true neighbor sets its head, a true head with one candidate left
+	 * sets it, one true member of an exactly-one group clears the others, and a
+	 * true head whose neighbors all lie in a group clears the rest of the group
+	 * (the wumpus is next to the stench). KB |= l is decided by propagating not l:
+	 * a conflict proves it. Otherwise a model is built from the propagated facts,
+	 * the first candidate of every group true and the other open variables true,
+	 * and if it satisfies every constraint it proves KB does not entail l. When
+	 * neither works, entails returns null and the caller asks the SAT solver.
+	 * The backbone is decided the same way for all variables at once.
+	 */
+//===============================================================
+public class WumpusPropagator {
+	private final int numVars;  // variables 1..numVars, larger ids (auxiliary variables) are not modelled
+	private final int words;    // longs per bitboard
+	private long[] isTrue;
+	private long[] isFalse;
+	private boolean conflict = false;   // the told constraints are unsatisfiable
+	private boolean opaque = false;     // a clause over auxiliary variables was told
+	private final ArrayList<int[]> clauses;
+	private final ArrayList<Integer> heads;
+	private final ArrayList<long[]> bodies;     // bodies.get(i): neighbors of heads.get(i)
+	private final long[] headMask;  // the heads, as a bitboard
+	private final ArrayList<long[]> groups;     // exactly one of the bits is true
+
+	/**
+	 * @param numVars: number of variables of the table
+	 */
+	public WumpusPropagator(int numVars){
+		this.numVars = numVars;
+		words = (numVars + 63) / 64;
+		isTrue = new long[words];
+		isFalse = new long[words];
+		headMask = new long[words];
+		clauses = new ArrayList<>();
+		heads = new ArrayList<>();
+		bodies = new ArrayList<>();
+		groups = new ArrayList<>();
+	}
+
+	/**
+	 * Function that copies a propagator, the copy and the original are independent; the told
+	 * constraints are never changed, so they are shared
+	 * @param other: the propagator to copy
+	 */
+	public WumpusPropagator(WumpusPropagator other){
+		numVars = other.numVars;
+		words = other.words;
+		isTrue = other.isTrue.clone();
+		isFalse = other.isFalse.clone();
+		headMask = other.headMask.clone();
+		conflict = other.conflict;
+		opaque = other.opaque;
+		clauses = new ArrayList<>(other.clauses);
+		heads = new ArrayList<>(other.heads);
+		bodies = new ArrayList<>(other.bodies);
+		groups = new ArrayList<>(other.groups);
+	}
+
+	/**
+	 * Function that adds a clause
+	 * @param literals: the clause, a negative literal is a negated variable
+	 */
+	public void addClause(int... literals){
+		for(int literal: literals){
+			if(Math.abs(literal) > numVars){
+				opaque = true;
+				return;
+			}
+		}
+		if(literals.length == 1){
+			assign(isTrue, isFalse, literals[0]);
+		}
+		else if(literals.length == 0){
+			conflict = true;
+		}
+		else{
+			clauses.add(literals.clone());
+		}
+		propagate(isTrue, isFalse);
+	}
+
+	/**
+	 * Function that adds head <=> (body_1 v ... v body_k)
+	 * @param head: a variable
+	 * @param body: variables
+	 */
+	public void addEquivalence(int head, int[] body){
+		heads.add(head);
+		set(headMask, head);
+		bodies.add(mask(body));
+		propagate(isTrue, isFalse);
+	}
+
+	/**
+	 * Function that adds "exactly one of vars is true"
+	 * @param vars: variables
+	 */
+	public void addExactlyOne(int[] vars){
+		groups.add(mask(vars));
+		propagate(isTrue, isFalse);
+	}
+
+	/**
+	 * Function that decides whether the constraints entail a literal
+	 * @param literal: a variable of the table, negative if negated
+	 * @return TRUE or FALSE when propagation decides it, null when it cannot
+	 */
+	public Boolean entails(int literal){
+		if(conflict || isSet(literal > 0 ? isTrue : isFalse, Math.abs(literal))){
+			return Boolean.TRUE;
+		}
+		// refute not l
+		long[] t = isTrue.clone();
+		long[] f = isFalse.clone();
+		if(!assign(t, f, -literal) || !propagate(t, f)){
+			return Boolean.TRUE;
+		}
+		if(!opaque && completes(t, f, true)){
+			return Boolean.FALSE;
+		}
+		return null;
+	}
+
+	/**
+	 * Function that decides the backbone of the constraints: the variables fixed by propagation
+	 * are in it, two completions of opposite polarity give the candidates of the open ones, and
+	 * each remaining candidate is either refuted by propagating its negation or dropped by a model
+	 * that completes the negation, which drops every other candidate it falsifies as well
+	 * @param backbone: the literals known to be entailed so far, they are not tested again; gets the
+	 *                  entailed literals over its scope
+	 * @param undecided: gets the variables propagation cannot decide, to be asked to a SAT solver
+	 */
+	public void backbone(Backbone backbone, BitSet undecided){
+		long[] open = new long[words];
+		for(int var: backbone.variables()){
+			if(var > numVars){
+				undecided.set(var);
+			}
+			else if(isSet(isTrue, var)){
+				backbone.add(var);
+			}
+			else if(isSet(isFalse, var)){
+				backbone.add(-var);
+			}
+			else{
+				set(open, var);
+			}
+		}
+		long[] value = isTrue.clone();
+		long[] f = isFalse.clone();
+		if(opaque || !completes(value, f, true)){
+			setAll(undecided, open);
+			return;
+		}
+		// candidates: the open variables with their value in the first model
+		long[] candidates = new long[words];
+		for(int i = 0; i < words; ++i){
+			candidates[i] = open[i] & (value[i] | f[i]);
+		}
+		setAll(undecided, andNot(open, candidates));
+		long[] t2 = isTrue.clone();
+		long[] f2 = isFalse.clone();
+		if(completes(t2, f2, false)){
+			drop(candidates, value, t2, f2);
+		}
+		for(int var = first(candidates); var != 0; var = first(candidates)){
+			int literal = isSet(value, var) ? var : -var;
+			if(backbone.entails(literal)){
+				clear(candidates, var);
+				continue;
+			}
+			long[] t = isTrue.clone();
+			f = isFalse.clone();
+			if(!assign(t, f, -literal) || !propagate(t, f)){
+				backbone.add(literal);
+				clear(candidates, var);
+				continue;
+			}
+			long[] tc = t.clone();
+			long[] fc = f.clone();
+			if(completes(tc, fc, true)){
+				drop(candidates, value, tc, fc);
+			}
+			else if(completes(t, f, false)){
+				drop(candidates, value, t, f);
+			}
+			else{
+				undecided.set(var);
+			}
+			clear(candidates, var);
+		}
+	}
+
+	public boolean isConsistent(){
+		return !conflict;
+	}
+
+	/**
+	 * Function that applies the rules until nothing changes
+	 * @return false on a conflict
+	 */
+	private boolean propagate(long[] t, long[] f){
+		if(conflict){
+			return false;
+		}
+		boolean changed = true;
+		while(changed){
+			changed = false;
+			for(int[] clause: clauses){
+				if(satisfied(clause, t, f)){
+					continue;
+				}
+				int unit = unitOf(clause, t, f);
+				if(unit == 0){
+					return fail(t);
+				}
+				if(unit != Integer.MIN_VALUE){
+					if(!assign(t, f, unit)){
+						return fail(t);
+					}
+					changed = true;
+				}
+			}
+			for(int i = 0; i < heads.size(); ++i){
+				int head = heads.get(i);
+				long[] body = bodies.get(i);
+				if(intersects(body, t)){
+					if(!isSet(t, head)){
+						if(isSet(f, head)){
+							return fail(t);
+						}
+						set(t, head);
+						changed = true;
+					}
+				}
+				else if(subset(body, f)){
+					if(!isSet(f, head)){
+						if(isSet(t, head)){
+							return fail(t);
+						}
+						set(f, head);
+						changed = true;
+					}
+				}
+				else if(isSet(f, head)){
+					// no neighbor is true: all of them are false
+					if(orInto(f, body)){
+						changed = true;
+					}
+				}
+				else if(isSet(t, head)){
+					int candidate = single(body, f);
+					if(candidate > 0){
+						set(t, candidate);
+						changed = true;
+					}
+					// the head's neighbors hold the one true member of a group
+					for(long[] group: groups){
+						if(subset(body, group) && orInto(f, andNot(group, body))){
+							changed = true;
+						}
+					}
+				}
+				if(intersects(t, f)){
+					return fail(t);
+				}
+			}
+			for(long[] group: groups){
+				int trueCount = count(group, t);
+				if(trueCount > 1){
+					return fail(t);
+				}
+				if(trueCount == 1){
+					if(orInto(f, andNot(group, t))){
+						changed = true;
+					}
+				}
+				else{
+					int candidate = single(group, f);
+					if(candidate == 0){
+						return fail(t);
+					}
+					if(candidate > 0){
+						set(t, candidate);
+						changed = true;
+					}
+				}
+				if(intersects(t, f)){
+					return fail(t);
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Function that completes propagated facts to an assignment and checks it is a model
+	 * @param polarity: the value of the open variables, with true the first candidate of a group
+	 *                  is chosen, with false the last one
+	 * @return true if the completion satisfies every constraint
+	 */
+	private boolean completes(long[] t, long[] f, boolean polarity){
+		for(long[] group: groups){
+			if(count(group, t) == 0){
+				long[] open = andNot(group, f);
+				int candidate = polarity ? first(open) : last(open);
+				if(candidate == 0){
+					return false;
+				}
+				set(t, candidate);
+				if(!propagate(t, f)){
+					return false;
+				}
+			}
+		}
+		if(!polarity){
+			// a true head needs a true neighbor before the other neighbors are cleared
+			for(int i = 0; i < heads.size(); ++i){
+				if(isSet(t, heads.get(i)) && !intersects(bodies.get(i), t)){
+					int candidate = last(andNot(bodies.get(i), f));
+					if(candidate == 0){
+						return false;
+					}
+					set(t, candidate);
+					if(!propagate(t, f)){
+						return false;
+					}
+				}
+			}
+		}
+		// every other open variable gets the polarity, then the heads follow their neighbors
+		for(int var = 1; var <= numVars; ++var){
+			if(!isSet(t, var) && !isSet(f, var) && !isSet(headMask, var)){
+				set(polarity ? t : f, var);
+			}
+		}
+		if(!propagate(t, f)){
+			return false;
+		}
+		for(int[] clause: clauses){
+			if(!satisfied(clause, t, f)){
+				return false;
+			}
+		}
+		for(int i = 0; i < heads.size(); ++i){
+			int head = heads.get(i);
+			if(intersects(bodies.get(i), t) ? !isSet(t, head) : !isSet(f, head)){
+				return false;
+			}
+		}
+		for(long[] group: groups){
+			if(count(group, t) != 1){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean satisfied(int[] clause, long[] t, long[] f){
+		for(int literal: clause){
+			if(isSet(literal > 0 ? t : f, Math.abs(literal))){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Function that returns the literal a clause forces, 0 if all its literals are false,
+	 * Integer.MIN_VALUE if it forces nothing (the clause is not satisfied)
+	 */
+	private int unitOf(int[] clause, long[] t, long[] f){
+		int open = 0;
+		int count = 0;
+		for(int literal: clause){
+			if(!isSet(literal > 0 ? f : t, Math.abs(literal))){
+				open = literal;
+				++count;
+			}
+		}
+		return count == 0 ? 0 : count == 1 ? open : Integer.MIN_VALUE;
+	}
+
+	private boolean fail(long[] t){
+		if(t == isTrue){
+			conflict = true;
+		}
+		return false;
+	}
+
+	private boolean assign(long[] t, long[] f, int literal){
+		int var = Math.abs(literal);
+		if(isSet(literal > 0 ? f : t, var)){
+			if(t == isTrue){
+				conflict = true;
+			}
+			return false;
+		}
+		set(literal > 0 ? t : f, var);
+		return true;
+	}
+
+	private long[] mask(int[] vars){
+		long[] mask = new long[words];
+		for(int var: vars){
+			set(mask, var);
+		}
+		return mask;
+	}
+
+	private static boolean isSet(long[] board, int var){
+		return (board[(var-1) >>> 6] & (1L << (var-1))) != 0;
+	}
+
+	private static void set(long[] board, int var){
+		board[(var-1) >>> 6] |= 1L << (var-1);
+	}
+
+	private static void clear(long[] board, int var){
+		board[(var-1) >>> 6] &= ~(1L << (var-1));
+	}
+
+	private static void setAll(BitSet target, long[] board){
+		for(int var = first(board); var != 0; var = next(board, var)){
+			target.set(var);
+		}
+	}
+
+	/**
+	 * Function that drops the candidates a model falsifies
+	 * @param candidates: the candidate variables
+	 * @param value: the candidate polarity of each variable, bit set for true
+	 * @param t: the variables true in the model
+	 * @param f: the variables false in the model
+	 */
+	private static void drop(long[] candidates, long[] value, long[] t, long[] f){
+		for(int i = 0; i < candidates.length; ++i){
+			candidates[i] &= ~((value[i] & f[i]) | (~value[i] & t[i]));
+		}
+	}
+
+	private static boolean intersects(long[] a, long[] b){
+		for(int i = 0; i < a.length; ++i){
+			if((a[i] & b[i]) != 0){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean subset(long[] a, long[] b){
+		for(int i = 0; i < a.length; ++i){
+			if((a[i] & ~b[i]) != 0){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static long[] andNot(long[] a, long[] b){
+		long[] c = new long[a.length];
+		for(int i = 0; i < a.length; ++i){
+			c[i] = a[i] & ~b[i];
+		}
+		return c;
+	}
+
+	/**
+	 * Function that sets the bits of 'bits' in 'target'
+	 * @return true if target changed
+	 */
+	private static boolean orInto(long[] target, long[] bits){
+		boolean changed = false;
+		for(int i = 0; i < target.length; ++i){
+			long add = bits[i] & ~target[i];
+			if(add != 0){
+				target[i] |= add;
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	private static int count(long[] a, long[] b){
+		int n = 0;
+		for(int i = 0; i < a.length; ++i){
+			n += Long.bitCount(a[i] & b[i]);
+		}
+		return n;
+	}
+
+	/**
+	 * Function that returns the only bit of 'mask' not in 'excluded': the variable if there is
+	 * exactly one, 0 if there is none, -1 if there are more
+	 */
+	private static int single(long[] mask, long[] excluded){
+		int found = 0;
+		for(int i = 0; i < mask.length; ++i){
+			long open = mask[i] & ~excluded[i];
+			if(open == 0){
+				continue;
+			}
+			if(found != 0 || Long.bitCount(open) > 1){
+				return -1;
+			}
+			found = i*64 + Long.numberOfTrailingZeros(open) + 1;
+		}
+		return found;
+	}
+
+	private static int first(long[] mask){
+		for(int i = 0; i < mask.length; ++i){
+			if(mask[i] != 0){
+				return i*64 + Long.numberOfTrailingZeros(mask[i]) + 1;
+			}
+		}
+		return 0;
+	}
+
+	private static int last(long[] mask){
+		for(int i = mask.length - 1; i >= 0; --i){
+			if(mask[i] != 0){
+				return i*64 + 63 - Long.numberOfLeadingZeros(mask[i]) + 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Function that returns the first bit of 'mask' after var, 0 if there is none
+	 */
+	private static int next(long[] mask, int var){
+		// var is bit var-1, so the bits after it start at bit var
+		int i = var >>> 6;
+		if(i >= mask.length){
+			return 0;
+		}
+		long rest = mask[i] & (-1L << (var & 63));
+		while(rest == 0){
+			if(++i == mask.length){
+				return 0;
+			}
+			rest = mask[i];
+		}
+		return i*64 + Long.numberOfTrailingZeros(rest) + 1;
+	}
+
+	@Override
+	public String toString(){
+		return "[WumpusPropagator: true=" + Arrays.toString(isTrue) + ", false=" + Arrays.toString(isFalse) + "]";
+	}
+}
@@ -24,4 +24,17 @@ public abstract class Agent
 		boolean scream
 	);
 	
+	/**
+	 * Prepares the agent to play another world, keeping what does not
+	 * depend on the world, e.g. tables and solvers, and clearing what it
+	 * learned in the last one. After a reset the agent must play exactly
+	 * like a new one would.
+	 * @return true if the agent was reset, false if it cannot be reused and
+	 *         a new agent has to be created, the default
+	 */
+	public boolean reset ( )
+	{
+		return false;
+	}
+	
 }
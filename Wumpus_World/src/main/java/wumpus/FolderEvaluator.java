@@ -0,0 +1,114 @@
+package wumpus;
+
+// DESCRIPTION: Runs the worlds of a folder on a pool of worker threads.
+//              The workers borrow their World engines from a WorldPool, so a
+//              world reuses the board storage and the agent of an earlier one
+//              (see World.reset) and no two workers play on the same engine
+//              at once. Results are returned in the order of the
+//              given files, which lets the caller print and aggregate them
+//              exactly like the sequential -f loop does.
+// ======================================================================
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class FolderEvaluator
+{
+	// Outcome of one world
+	public static class Result
+	{
+		private final int		score;
+		private final long		elapsedTime;	// Time in msec spent on this world
+		private final Exception	error;			// Non-null if the world failed to load or run
+
+		Result ( int score, long elapsedTime, Exception error )
+		{
+			this.score       = score;
+			this.elapsedTime = elapsedTime;
+			this.error       = error;
+		}
+
+		public int getScore ( ) throws Exception
+		{
+			if ( error != null )
+				throw error;
+			return score;
+		}
+
+		public long getElapsedTime ( ) { return elapsedTime; }
+	}
+
+	/**
+	 * Evaluates every world on a World engine of a pool.
+	 * @param worlds: the world files
+	 * @param workers: number of worker threads, 0 uses one per available processor
+	 * @return one result per world, in the order of 'worlds'
+	 */
+	public static Result[] evaluate ( File[] worlds, int workers, boolean randomAI, boolean manualAI, boolean search )
+	{
+		if ( workers <= 0 )
+			workers = Runtime.getRuntime().availableProcessors();
+
+		ExecutorService pool = Executors.newFixedThreadPool ( workers );
+		try
+		{
+			WorldPool engines = new WorldPool ( randomAI, manualAI, search );
+			List<Future<Result>> pending = new ArrayList<>( worlds.length );
+			for ( File worldFile : worlds )
+				pending.add ( pool.submit ( ( ) -> runWorld ( worldFile, engines ) ) );
+
+			Result[] results = new Result[worlds.length];
+			for ( int i = 0; i < results.length; ++i )
+				results[i] = await ( pending.get(i) );
+			return results;
+		}
+		finally
+		{
+			pool.shutdownNow();
+		}
+	}
+
+	private static Result runWorld ( File worldFile, WorldPool engines )
+	{
+		long startTime = System.currentTimeMillis();
+		World world = null;
+		try
+		{
+			world = engines.acquire ( WorldLayout.read ( worldFile ) );
+			int score = world.run();
+			return new Result ( score, System.currentTimeMillis()-startTime, null );
+		}
+		catch ( Exception e )
+		{
+			return new Result ( 0, System.currentTimeMillis()-startTime, e );
+		}
+		finally
+		{
+			if ( world != null )
+				engines.release ( world );
+		}
+	}
+
+	private static Result await ( Future<Result> future )
+	{
+		try
+		{
+			return future.get();
+		}
+		catch ( ExecutionException e )
+		{
+			// runWorld only lets Errors escape, report them like any other failure
+			return new Result ( 0, 0, new Exception ( e.getCause() ) );
+		}
+		catch ( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+			return new Result ( 0, 0, e );
+		}
+	}
+}
@@ -6,10 +6,11 @@ import partialObservability.RandomAI;
 
 import fullObservability.*;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 import java.io.IOException;
 import java.io.File;
-import java.util.Scanner;
 
 public class World
 {
@@ -29,6 +30,7 @@ public class World
 		// own defined functions
 		public void setPit(){this.pit = true;}
 		public void setWumpus(){this.wumpus = true;}
+		public void setGold(){this.gold = true;}
 		public void unSetPit(){this.pit = false;}
 
 	    public boolean getPit() {return this.pit;}
@@ -37,10 +39,30 @@ public class World
 	    public boolean getBreeze() {return this.breeze;}
 	    public boolean getStench() {return this.stench;}
 	}
+
+	// Tile view over the packed board, so agents reading Tiles see the engine's state
+	private final class BoardTile extends Tile
+	{
+		private final int cell;
+
+		BoardTile ( int c, int r ) { cell = cellIndex(c, r); }
+
+		@Override public void setPit()    { setBit(pitBits, cell); }
+		@Override public void setWumpus() { setBit(wumpusBits, cell); }
+		@Override public void setGold()   { setBit(goldBits, cell); }
+		@Override public void unSetPit()  { clearBit(pitBits, cell); }
+
+		@Override public boolean getPit()    { return testBit(pitBits, cell); }
+		@Override public boolean getWumpus() { return testBit(wumpusBits, cell); }
+		@Override public boolean getGold()   { return testBit(goldBits, cell); }
+		@Override public boolean getBreeze() { return testBit(breezeBits, cell); }
+		@Override public boolean getStench() { return testBit(stenchBits, cell); }
+	}
 	
 	// Operation Variables
 	private boolean 	debug;			// If true, displays board info after every move
 	private boolean		manualAI;		// If true, alters the behavior of debug for flow purposes
+	private boolean		randomAI;		// If true, the agent created for a world is a RandomAI
 	private boolean     search;			// if true, we are in total observable case, passes 'board' to the agent!
 	
 	// Agent Variables
@@ -55,14 +77,20 @@ public class World
 	private int		agentY;			// The row where the agent is located ( y-coord = row-coord )
 
 	private Agent.Action	lastAction;	// The last action the agent made
+	private List<Agent.Action>	actionLog;	// If set, every action the agent makes is appended
 	
 	// Board Variables
 	private int			colDimension;	// The number of columns the game board has
 	private int			rowDimension;	// The number of rows the game board has
-	private Tile[][]	board;			// The game board
+	private long[]		pitBits;		// One bit per tile, indexed by c*rowDimension + r
+	private long[]		wumpusBits;
+	private long[]		goldBits;
+	private long[]		breezeBits;
+	private long[]		stenchBits;
+	private Tile[][]	boardView;		// Tile view of the packed board, created on demand
 	
 	// Random Variable
-	private Random rand;
+	private Random rand;			// Generates the random layouts, created on first use
 	
 	// ===============================================================
 	// =						Constructors
@@ -79,12 +107,110 @@ public class World
 	}
 	
 	public World ( boolean _debug, boolean _randomAI, boolean _manualAI, boolean _search, File worldFile ) throws Exception
+	{
+		this ( _debug, _randomAI, _manualAI, _search, worldFile, null );
+	}
+
+	/**
+	 * Creates a world of a run over many worlds. The agent of the previous
+	 * world plays this one too if it can be reset (see Agent.reset),
+	 * otherwise a new agent is created.
+	 * @param previous: the agent of the previous world, from a World with
+	 *                  the same flags, or null
+	 */
+	public World ( boolean _debug, boolean _randomAI, boolean _manualAI, boolean _search, File worldFile, Agent previous ) throws Exception
+	{
+		this ( _debug, _randomAI, _manualAI, _search, worldFile == null ? null : WorldLayout.read ( worldFile ), previous );
+	}
+
+	/**
+	 * Creates a world of a layout, or of a random layout if it is null,
+	 * and its agent as the constructor above does.
+	 */
+	public World ( boolean _debug, boolean _randomAI, boolean _manualAI, boolean _search, WorldLayout layout, Agent previous )
 	{
 		// Operation Flags
 		debug        = _debug;
+		randomAI     = _randomAI;
 		manualAI     = _manualAI;
 		search       = _search;
-		
+
+		load ( layout );
+		chooseAgent ( previous );
+	}
+
+	/**
+	 * Creates a world played by the given partially observing agent,
+	 * e.g. a MyAI configured by the caller.
+	 */
+	public World ( boolean _debug, Agent _agent, File worldFile ) throws Exception
+	{
+		debug        = _debug;
+		manualAI     = false;
+		search       = false;
+
+		load ( worldFile == null ? null : WorldLayout.read ( worldFile ) );
+		agent = _agent;
+	}
+
+	// ===============================================================
+	// =						Reset
+	// ===============================================================
+
+	/**
+	 * Loads another layout into this world for the next episode, a random
+	 * one if it is null. The board storage is reused when the size is the
+	 * same. The agent is reset (see Agent.reset), or a new one is created
+	 * as by the constructor if it cannot be. The action log is dropped.
+	 */
+	public void reset ( WorldLayout layout )
+	{
+		load ( layout );
+		actionLog = null;
+		chooseAgent ( agent );
+	}
+
+	/**
+	 * Loads another layout into this world, like reset ( layout ), and lets
+	 * the given agent play the next episode.
+	 */
+	public void reset ( WorldLayout layout, Agent _agent )
+	{
+		load ( layout );
+		actionLog = null;
+		agent = _agent;
+	}
+
+	private void chooseAgent ( Agent previous )
+	{
+		if ( previous != null && reuse ( previous ) )
+			agent = previous;
+		else if ( search ) {
+			if (manualAI)
+				agent = new ManualAI();
+			else
+				agent = new SearchAI(getBoard());
+		}
+		else {
+			if (randomAI)
+				agent = new RandomAI();
+			else if (manualAI)
+				agent = new ManualAI();
+			else
+				agent = new MyAI();
+		}
+	}
+
+	private boolean reuse ( Agent previous )
+	{
+		// a SearchAI plans from the board, so it is reset with it
+		if ( search )
+			return previous instanceof SearchAI && ((SearchAI) previous).reset ( getBoard() );
+		return !( previous instanceof SearchAI ) && previous.reset();
+	}
+
+	private void load ( WorldLayout layout )
+	{
 		// Agent Initialization
 		goldLooted   = false;
 		hasArrow     = true;
@@ -97,58 +223,59 @@ public class World
 		lastAction   = Agent.Action.CLIMB;
 		
 		// Board Initialization
-		if ( worldFile != null )
+		if ( layout == null )
 		{
-			Scanner scan = new Scanner ( worldFile );
-		
-			if ( !scan.hasNextInt() )
-				throw new Exception();
-			
-			colDimension = scan.nextInt();
-			
-			if ( !scan.hasNextInt() )
-				throw new Exception();
-			
-			rowDimension = scan.nextInt();
-			
-			board = new Tile[colDimension][rowDimension];
-		
-			for ( int r = 0; r < rowDimension; ++r )
-				for ( int c = 0; c < colDimension; ++c )
-					board[c][r] = new Tile();
-
-			addFeatures ( scan );
+			if ( rand == null )
+				rand = new Random ( );
+			layout = WorldLayout.random ( rand );
 		}
-		else
+		if ( pitBits == null || layout.getCols() != colDimension || layout.getRows() != rowDimension )
 		{
-			rand = new Random ( );
-			colDimension = 7;
-			rowDimension = 7;
-			board = new Tile[colDimension][rowDimension];
-		
-			for ( int r = 0; r < rowDimension; ++r )
-				for ( int c = 0; c < colDimension; ++c )
-					board[c][r] = new Tile();
-
-			addFeatures ( );
+			colDimension = layout.getCols();
+			rowDimension = layout.getRows();
+			allocateBoard();
 		}
+		else
+			clearBoard();
+		addFeatures ( layout );
+	}
+	
+	// ===============================================================
+	// =					Board Access
+	// ===============================================================
 
-		if ( _search ) {
-			if (_manualAI)
-				agent = new ManualAI();
-			else
-				agent = new SearchAI(board);
-		}
-		else {
-			if (_randomAI)
-				agent = new RandomAI();
-			else if (_manualAI)
-				agent = new ManualAI();
-			else
-				agent = new MyAI();
+	/**
+	 * Returns the board as board[column][row] Tiles. The tiles are views
+	 * over the packed board, so they always reflect the current world state.
+	 */
+	public Tile[][] getBoard ( )
+	{
+		if ( boardView == null )
+		{
+			boardView = new Tile[colDimension][rowDimension];
+			for ( int c = 0; c < colDimension; ++c )
+				for ( int r = 0; r < rowDimension; ++r )
+					boardView[c][r] = new BoardTile ( c, r );
 		}
+		return boardView;
 	}
-	
+
+	/**
+	 * Returns the agent playing this world, e.g. to reuse it for the next one.
+	 */
+	public Agent getAgent ( )
+	{
+		return agent;
+	}
+
+	/**
+	 * Appends every action the agent takes during run() to 'log'.
+	 */
+	public void logActions ( List<Agent.Action> log )
+	{
+		actionLog = log;
+	}
+
 	// ===============================================================
 	// =					Engine Function
 	// ===============================================================	
@@ -176,14 +303,17 @@ public class World
 				}
 			}
 			// Get the move
+			int cell = cellIndex ( agentX, agentY );
 			lastAction = agent.getAction
 			(
-				board[agentX][agentY].stench,
-				board[agentX][agentY].breeze,
-				board[agentX][agentY].gold,
+				testBit ( stenchBits, cell ),
+				testBit ( breezeBits, cell ),
+				testBit ( goldBits, cell ),
 				bump,
 				scream
 			);
+			if ( actionLog != null )
+				actionLog.add ( lastAction );
 
 			// Make the move
 			--score;
@@ -212,7 +342,8 @@ public class World
 					else
 						bump = true;
 					
-					if ( board[agentX][agentY].pit || board[agentX][agentY].wumpus )
+					cell = cellIndex ( agentX, agentY );
+					if ( testBit ( pitBits, cell ) || testBit ( wumpusBits, cell ) )
 					{
 						score -= 1000;
 						if (debug) printWorldInfo();
@@ -228,40 +359,36 @@ public class World
 						if ( agentDir == 0 )
 						{
 							for ( int x = agentX; x < colDimension; ++x )
-								if ( board[x][agentY].wumpus )
+								if ( testBit ( wumpusBits, cellIndex(x, agentY) ) )
 								{
-									board[x][agentY].wumpus = false;
-									board[x][agentY].stench = true;
+									killWumpus ( cellIndex(x, agentY) );
 									scream = true;
 								}
 						}
 						else if ( agentDir == 1 )
 						{
 							for ( int y = agentY; y >= 0; --y )
-								if ( board[agentX][y].wumpus )
+								if ( testBit ( wumpusBits, cellIndex(agentX, y) ) )
 								{
-									board[agentX][y].wumpus = false;
-									board[agentX][y].stench = true;
+									killWumpus ( cellIndex(agentX, y) );
 									scream = true;
 								}
 						}
 						else if ( agentDir == 2 )
 						{
 							for ( int x = agentX; x >= 0; --x )
-								if ( board[x][agentY].wumpus )
+								if ( testBit ( wumpusBits, cellIndex(x, agentY) ) )
 								{
-									board[x][agentY].wumpus = false;
-									board[x][agentY].stench = true;
+									killWumpus ( cellIndex(x, agentY) );
 									scream = true;
 								}
 						}
 						else if ( agentDir == 3 )
 						{
 							for ( int y = agentY; y < rowDimension; ++y )
-								if ( board[agentX][y].wumpus )
+								if ( testBit ( wumpusBits, cellIndex(agentX, y) ) )
 								{
-									board[agentX][y].wumpus = false;
-									board[agentX][y].stench = true;
+									killWumpus ( cellIndex(agentX, y) );
 									scream = true;
 								}
 						}
@@ -269,9 +396,10 @@ public class World
 					break;
 					
 				case GRAB:
-					if ( board[agentX][agentY].gold )
+					cell = cellIndex ( agentX, agentY );
+					if ( testBit ( goldBits, cell ) )
 					{
-						board[agentX][agentY].gold = false;
+						clearBit ( goldBits, cell );
 						goldLooted = true;
 					}
 					break;
@@ -292,103 +420,45 @@ public class World
 	// ===============================================================
 	// =				World Generation Functions
 	// ===============================================================
-	
-	private void addFeatures ( )
-	{		
-		// Generate pits
-		for ( int r = 0; r < rowDimension; ++r )
-			for ( int c = 0; c < colDimension; ++c )
-				if ( (c != 0 || r != 0) && randomInt(10) < 2 )
-					addPit ( c, r );
-		
-		// Generate wumpus
-		int wc = randomInt(colDimension);
-		int wr = randomInt(rowDimension);
-		
-		while ( wc == 0 && wr == 0 )
-		{
-			wc = randomInt(colDimension);
-			wr = randomInt(rowDimension);
-		}
-		
-		addWumpus ( wc, wr );
-		
-		// Generate gold
-		int gc = randomInt(colDimension);
-		int gr = randomInt(rowDimension);
-			
-		while ( gc == 0 && gr == 0 )
+
+	private void allocateBoard ( )
+	{
+		int words = ( colDimension * rowDimension + 63 ) >>> 6;
+		if ( pitBits != null && pitBits.length == words )
+			clearBoard();
+		else
 		{
-			gc = randomInt(colDimension);
-			gr = randomInt(rowDimension);
+			pitBits    = new long[words];
+			wumpusBits = new long[words];
+			goldBits   = new long[words];
+			breezeBits = new long[words];
+			stenchBits = new long[words];
 		}
-		
-		addGold ( gc, gr );
+		boardView  = null;	// its tiles index the board of the old size
+	}
+
+	private void clearBoard ( )
+	{
+		Arrays.fill ( pitBits, 0 );
+		Arrays.fill ( wumpusBits, 0 );
+		Arrays.fill ( goldBits, 0 );
+		Arrays.fill ( breezeBits, 0 );
+		Arrays.fill ( stenchBits, 0 );
 	}
 	
-	private void addFeatures ( Scanner scan ) throws Exception
+	private void addFeatures ( WorldLayout layout )
 	{
-		int c, r;
-		
-		// Add the Wumpus
-		if ( !scan.hasNextInt() )
-			throw new Exception();
-		
-		c = scan.nextInt();
-		
-		if ( !scan.hasNextInt() )
-			throw new Exception();
-		
-		r = scan.nextInt();
-		
-		addWumpus ( c, r );
-		
-		// Add the Gold
-		
-		if ( !scan.hasNextInt() )
-			throw new Exception();
-		
-		c = scan.nextInt();
-		
-		if ( !scan.hasNextInt() )
-			throw new Exception();
-		
-		r = scan.nextInt();
-		
-		addGold ( c, r );
-		
-		// Add the Pits
-		
-		if ( !scan.hasNextInt() )
-			throw new Exception();
-		
-		int numOfPits = scan.nextInt();
-		
-		while ( numOfPits > 0 && scan.hasNextLine() )
-		{
-			--numOfPits;
-		
-			if ( !scan.hasNextInt() )
-				throw new Exception();
-			
-			c = scan.nextInt();
-		
-			if ( !scan.hasNextInt() )
-				throw new Exception();
-			
-			r = scan.nextInt();
-			
-			addPit ( c, r );
-		}
-
-		scan.close();
+		addWumpus ( layout.getWumpusCol(), layout.getWumpusRow() );
+		addGold ( layout.getGoldCol(), layout.getGoldRow() );
+		for ( int i = 0; i < layout.getPitCount(); ++i )
+			addPit ( layout.getPitCol(i), layout.getPitRow(i) );
 	}
 	
 	private void addPit ( int c, int r )
 	{
 		if ( isInBounds(c, r) )
 		{
-			board[c][r].pit = true;
+			setBit ( pitBits, cellIndex(c, r) );
 			addBreeze ( c+1, r );
 			addBreeze ( c-1, r );
 			addBreeze ( c, r+1 );
@@ -400,7 +470,7 @@ public class World
 	{
 		if ( isInBounds(c, r) )
 		{
-			board[c][r].wumpus = true;
+			setBit ( wumpusBits, cellIndex(c, r) );
 			addStench ( c+1, r );
 			addStench ( c-1, r );
 			addStench ( c, r+1 );
@@ -411,25 +481,55 @@ public class World
 	private void addGold ( int c, int r )
 	{
 		if ( isInBounds(c, r) )
-			board[c][r].gold = true;
+			setBit ( goldBits, cellIndex(c, r) );
 	}
 	
 	private void addStench ( int c, int r )
 	{
 		if ( isInBounds(c, r) )
-			board[c][r].stench = true;
+			setBit ( stenchBits, cellIndex(c, r) );
 	}
 	
 	private void addBreeze ( int c, int r )
 	{
 		if ( isInBounds(c, r) )
-			board[c][r].breeze = true;
+			setBit ( breezeBits, cellIndex(c, r) );
 	}
 	
 	private boolean isInBounds ( int c, int r )
 	{
 		return ( c < colDimension && r < rowDimension && c >= 0  && r >= 0);
 	}
+
+	private void killWumpus ( int cell )
+	{
+		clearBit ( wumpusBits, cell );
+		setBit ( stenchBits, cell );
+	}
+
+	// ===============================================================
+	// =					Bitboard Functions
+	// ===============================================================
+
+	private int cellIndex ( int c, int r )
+	{
+		return c * rowDimension + r;
+	}
+
+	private static boolean testBit ( long[] bits, int cell )
+	{
+		return ( bits[cell >>> 6] & ( 1L << cell ) ) != 0;
+	}
+
+	private static void setBit ( long[] bits, int cell )
+	{
+		bits[cell >>> 6] |= 1L << cell;
+	}
+
+	private static void clearBit ( long[] bits, int cell )
+	{
+		bits[cell >>> 6] &= ~( 1L << cell );
+	}
 	
 	// ===============================================================
 	// =				World Printing Functions
@@ -455,12 +555,13 @@ public class World
 	private void printTileInfo ( int c, int r )
 	{
 		StringBuilder tileString = new StringBuilder();
+		int cell = cellIndex ( c, r );
 		
-		if (board[c][r].pit)    tileString.append("P");
-		if (board[c][r].wumpus) tileString.append("W");
-		if (board[c][r].gold)   tileString.append("$");
-		if (board[c][r].breeze) tileString.append("~");
-		if (board[c][r].stench) tileString.append("s");
+		if (testBit(pitBits, cell))    tileString.append("P");
+		if (testBit(wumpusBits, cell)) tileString.append("W");
+		if (testBit(goldBits, cell))   tileString.append("$");
+		if (testBit(breezeBits, cell)) tileString.append("~");
+		if (testBit(stenchBits, cell)) tileString.append("s");
 		
 		if ( agentX == c && agentY == r )
 			tileString.append("@");
@@ -541,10 +642,11 @@ public class World
 	private void printPerceptInfo ( )
 	{
 		StringBuilder perceptString = new StringBuilder("Percepts: ");
+		int cell = cellIndex ( agentX, agentY );
 		
-		if (board[agentX][agentY].stench) perceptString.append("Stench, ");
-		if (board[agentX][agentY].breeze) perceptString.append("Breeze, ");
-		if (board[agentX][agentY].gold)   perceptString.append("Glitter, ");
+		if (testBit(stenchBits, cell)) perceptString.append("Stench, ");
+		if (testBit(breezeBits, cell)) perceptString.append("Breeze, ");
+		if (testBit(goldBits, cell))   perceptString.append("Glitter, ");
 		if (bump)                         perceptString.append("Bump, ");
 		if (scream)                       perceptString.append("Scream");
 		
@@ -557,13 +659,4 @@ public class World
 		
 		System.out.println(perceptString.toString());
 	}
-	
-	// ===============================================================
-	// =					Helper Functions
-	// ===============================================================
-	
-	private int randomInt ( int limit )
-	{
-		return rand.nextInt(limit);
-	}
 }
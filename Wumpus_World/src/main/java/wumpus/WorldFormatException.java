@@ -0,0 +1,28 @@
+package wumpus;
+
+// DESCRIPTION: Thrown when a world file does not follow the format of the
+//              world generator. The message names the file, the line and the
+//              value that was expected, e.g.
+//
+//                	world4x4_0.txt:3: expected the gold row, found 'x'
+// ======================================================================
+
+import java.io.IOException;
+
+public class WorldFormatException extends IOException
+{
+	private static final long serialVersionUID = 1L;
+
+	private final String	source;		// Name of the file, or of the buffer
+	private final int		line;		// Line of the error, counted from 1
+
+	public WorldFormatException ( String source, int line, String message )
+	{
+		super ( source + ":" + line + ": " + message );
+		this.source = source;
+		this.line   = line;
+	}
+
+	public String getSource ( )	{ return source; }
+	public int getLine ( )		{ return line; }
+}
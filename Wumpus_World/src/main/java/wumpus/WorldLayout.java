@@ -0,0 +1,258 @@
+package wumpus;
+
+// DESCRIPTION: What a world file describes: the size of the board and where
+//              the wumpus, the gold and the pits are. A layout is immutable,
+//              so it can be loaded into any number of Worlds (see
+//              World.reset), on any thread. Features outside the board are
+//              kept and ignored by the World, as they always were.
+// ======================================================================
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+public final class WorldLayout
+{
+	private final int	cols;
+	private final int	rows;
+	private final int	wumpusCol;
+	private final int	wumpusRow;
+	private final int	goldCol;
+	private final int	goldRow;
+	private final int[]	pits;		// pits[2*i], pits[2*i+1]: column and row of pit i
+
+	/**
+	 * @param pits: column and row of every pit, one after the other
+	 */
+	public WorldLayout ( int cols, int rows, int wumpusCol, int wumpusRow, int goldCol, int goldRow, int[] pits )
+	{
+		if ( cols < 0 || rows < 0 || pits.length % 2 != 0 )
+			throw new IllegalArgumentException ( "invalid layout: " + cols + "x" + rows + ", " + pits.length + " pit coordinates" );
+		this.cols      = cols;
+		this.rows      = rows;
+		this.wumpusCol = wumpusCol;
+		this.wumpusRow = wumpusRow;
+		this.goldCol   = goldCol;
+		this.goldRow   = goldRow;
+		this.pits      = pits.clone();
+	}
+
+	/**
+	 * Reads a world file: columns, rows, the wumpus, the gold, the number
+	 * of pits and the pits, as written by the world generator. The file is
+	 * read into a buffer of the calling thread, which is reused by its next
+	 * reads, and parsed there without creating strings (see parse).
+	 */
+	public static WorldLayout read ( File worldFile ) throws IOException
+	{
+		byte[] buffer = BUFFERS.get();
+		int length = 0;
+		try ( FileInputStream in = new FileInputStream ( worldFile ) )
+		{
+			for ( int n; ( n = in.read ( buffer, length, buffer.length - length ) ) > 0; )
+			{
+				length += n;
+				if ( length == buffer.length )
+				{
+					buffer = Arrays.copyOf ( buffer, 2 * buffer.length );
+					BUFFERS.set ( buffer );
+				}
+			}
+		}
+		return parse ( buffer, 0, length, worldFile.getName() );
+	}
+
+	// World files are a few dozen bytes, a buffer grows only for odd ones
+	private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial ( ( ) -> new byte[4096] );
+
+	/**
+	 * Parses a world in the format of the world generator: integers separated
+	 * by whitespace, as Scanner.nextInt reads them. Pits missing at the end of
+	 * the data are dropped, as they always were, and what follows the last pit
+	 * is ignored.
+	 * @param data: the bytes, ASCII text
+	 * @param source: name of the data in error messages, e.g. the file name
+	 * @throws WorldFormatException: if a value is missing, not an integer or
+	 *                               out of range
+	 */
+	public static WorldLayout parse ( byte[] data, int offset, int length, String source ) throws WorldFormatException
+	{
+		Parser in = new Parser ( data, offset, offset + length, source );
+		int cols = in.nextInt ( "the number of columns" );
+		int rows = in.nextInt ( "the number of rows" );
+		if ( cols < 0 || rows < 0 )
+			throw in.error ( "invalid board size " + cols + "x" + rows );
+		int wc   = in.nextInt ( "the wumpus column" );
+		int wr   = in.nextInt ( "the wumpus row" );
+		int gc   = in.nextInt ( "the gold column" );
+		int gr   = in.nextInt ( "the gold row" );
+
+		int numOfPits = in.nextInt ( "the number of pits" );
+		if ( numOfPits < 0 )
+			throw in.error ( "invalid number of pits " + numOfPits );
+		// every pit takes at least three bytes, a bogus count allocates no more than the data
+		int[] pits = new int[2 * Math.min ( numOfPits, length / 3 + 1 )];
+		int n = 0;
+		for ( int i = 0; i < numOfPits && !in.atEnd(); ++i )
+		{
+			if ( n == pits.length )
+				pits = Arrays.copyOf ( pits, 2 * n );
+			pits[n++] = in.nextInt ( "the column of pit " + (i+1) );
+			pits[n++] = in.nextInt ( "the row of pit " + (i+1) );
+		}
+		return new WorldLayout ( cols, rows, wc, wr, gc, gr, Arrays.copyOf ( pits, n ) );
+	}
+
+	// Reads the integers of a world from a byte range, counting lines for the errors
+	private static final class Parser
+	{
+		private final byte[]	data;
+		private final int		end;
+		private final String	source;
+		private int				pos;
+		private int				line = 1;
+
+		Parser ( byte[] data, int pos, int end, String source )
+		{
+			this.data   = data;
+			this.pos    = pos;
+			this.end    = end;
+			this.source = source;
+		}
+
+		/**
+		 * Function that skips whitespace and returns whether the data is over
+		 */
+		boolean atEnd ( )
+		{
+			for ( ; pos < end && isSpace ( data[pos] ); ++pos )
+				if ( data[pos] == '\n' )
+					++line;
+			return pos == end;
+		}
+
+		/**
+		 * Function that reads the next integer: an optional sign and decimal digits
+		 * @param what: what the integer is, for the error message
+		 */
+		int nextInt ( String what ) throws WorldFormatException
+		{
+			if ( atEnd() )
+				throw error ( "expected " + what + ", found the end of the data" );
+			int start = pos;
+			boolean negative = data[pos] == '-';
+			if ( negative || data[pos] == '+' )
+				++pos;
+			long value = 0;
+			int digits = 0;
+			for ( ; pos < end && data[pos] >= '0' && data[pos] <= '9'; ++pos, ++digits )
+			{
+				value = 10 * value + ( data[pos] - '0' );
+				if ( value > (long) Integer.MAX_VALUE + 1 )
+					throw error ( what + " is out of range: '" + token ( start ) + "'" );
+			}
+			if ( digits == 0 || ( pos < end && !isSpace ( data[pos] ) ) )
+				throw error ( "expected " + what + ", found '" + token ( start ) + "'" );
+			if ( negative )
+				value = -value;
+			if ( value > Integer.MAX_VALUE )
+				throw error ( what + " is out of range: '" + token ( start ) + "'" );
+			return (int) value;
+		}
+
+		WorldFormatException error ( String message )
+		{
+			return new WorldFormatException ( source, line, message );
+		}
+
+		// The whitespace-delimited token at 'start', for error messages only
+		private String token ( int start )
+		{
+			int stop = start;
+			while ( stop < end && !isSpace ( data[stop] ) && stop - start < 20 )
+				++stop;
+			return new String ( data, start, stop - start, StandardCharsets.ISO_8859_1 );
+		}
+
+		private static boolean isSpace ( byte b )
+		{
+			return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f' || b == 0x0B;
+		}
+	}
+
+	/**
+	 * Generates a random 7x7 layout: every tile but [0, 0] has a pit with
+	 * probability 0.2, and the wumpus and the gold are on tiles other than
+	 * [0, 0].
+	 */
+	public static WorldLayout random ( Random rand )
+	{
+		int colDimension = 7;
+		int rowDimension = 7;
+
+		// Generate pits
+		int[] pits = new int[2 * colDimension * rowDimension];
+		int n = 0;
+		for ( int r = 0; r < rowDimension; ++r )
+			for ( int c = 0; c < colDimension; ++c )
+				if ( (c != 0 || r != 0) && rand.nextInt(10) < 2 )
+				{
+					pits[n++] = c;
+					pits[n++] = r;
+				}
+
+		// Generate wumpus
+		int wc = rand.nextInt(colDimension);
+		int wr = rand.nextInt(rowDimension);
+
+		while ( wc == 0 && wr == 0 )
+		{
+			wc = rand.nextInt(colDimension);
+			wr = rand.nextInt(rowDimension);
+		}
+
+		// Generate gold
+		int gc = rand.nextInt(colDimension);
+		int gr = rand.nextInt(rowDimension);
+
+		while ( gc == 0 && gr == 0 )
+		{
+			gc = rand.nextInt(colDimension);
+			gr = rand.nextInt(rowDimension);
+		}
+
+		return new WorldLayout ( colDimension, rowDimension, wc, wr, gc, gr, Arrays.copyOf ( pits, n ) );
+	}
+
+	public int getCols ( )		{ return cols; }
+	public int getRows ( )		{ return rows; }
+	public int getWumpusCol ( )	{ return wumpusCol; }
+	public int getWumpusRow ( )	{ return wumpusRow; }
+	public int getGoldCol ( )	{ return goldCol; }
+	public int getGoldRow ( )	{ return goldRow; }
+	public int getPitCount ( )	{ return pits.length / 2; }
+	public int getPitCol ( int i )	{ return pits[2*i]; }
+	public int getPitRow ( int i )	{ return pits[2*i+1]; }
+
+	@Override
+	public boolean equals ( Object o )
+	{
+		if ( !( o instanceof WorldLayout ) )
+			return false;
+		WorldLayout other = (WorldLayout) o;
+		return cols == other.cols && rows == other.rows
+				&& wumpusCol == other.wumpusCol && wumpusRow == other.wumpusRow
+				&& goldCol == other.goldCol && goldRow == other.goldRow
+				&& Arrays.equals ( pits, other.pits );
+	}
+
+	@Override
+	public int hashCode ( )
+	{
+		int h = ((cols * 31 + rows) * 31 + wumpusCol) * 31 + wumpusRow;
+		return ((h * 31 + goldCol) * 31 + goldRow) * 31 + Arrays.hashCode ( pits );
+	}
+}
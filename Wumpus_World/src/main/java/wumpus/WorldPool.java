@@ -0,0 +1,71 @@
+package wumpus;
+
+// DESCRIPTION: A pool of World engines for playing many worlds, on one or
+//              more threads. A world acquired from the pool is an idle one
+//              reset to the requested layout (see World.reset), so its board
+//              storage and agent are reused, or a new one when none is idle.
+//              Every world of a pool is created with the same flags and
+//              without debug output. A world is used by one thread at a time,
+//              from acquire until release.
+// ======================================================================
+
+import java.util.ArrayDeque;
+
+public class WorldPool
+{
+	private final boolean			randomAI;
+	private final boolean			manualAI;
+	private final boolean			search;
+	private final ArrayDeque<World>	idle = new ArrayDeque<>();	// guarded by itself
+	private int						created = 0;				// guarded by idle
+
+	public WorldPool ( boolean randomAI, boolean manualAI, boolean search )
+	{
+		this.randomAI = randomAI;
+		this.manualAI = manualAI;
+		this.search   = search;
+	}
+
+	/**
+	 * Returns a world loaded with a layout, ready to run.
+	 * @param layout: the layout to play, null for a random one
+	 */
+	public World acquire ( WorldLayout layout )
+	{
+		World world;
+		synchronized ( idle )
+		{
+			world = idle.pollFirst();
+			if ( world == null )
+				++created;
+		}
+		if ( world == null )
+			return new World ( false, randomAI, manualAI, search, layout, null );
+		world.reset ( layout );
+		return world;
+	}
+
+	/**
+	 * Gives a world back to the pool once its episode is over. A world whose
+	 * run failed may be released too, reset puts it back in order.
+	 */
+	public void release ( World world )
+	{
+		synchronized ( idle )
+		{
+			// the most recently used world first, its memory is still warm
+			idle.addFirst ( world );
+		}
+	}
+
+	/**
+	 * Function that returns how many worlds the pool has created
+	 */
+	public int getCreatedCount ( )
+	{
+		synchronized ( idle )
+		{
+			return created;
+		}
+	}
+}